@@ -45,6 +45,7 @@ public class LoadCustomLayoutExampleActivity extends AppCompatActivity {
         magicIndicator.setBackgroundColor(Color.BLACK);
         CommonNavigator commonNavigator = new CommonNavigator(this);
         commonNavigator.setAdjustMode(true);
+        commonNavigator.setIncrementalInit(true);  // title布局较复杂，分帧创建
         commonNavigator.setAdapter(new CommonNavigatorAdapter() {
 
             @Override
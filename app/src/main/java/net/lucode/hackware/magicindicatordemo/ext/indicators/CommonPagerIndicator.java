@@ -38,6 +38,8 @@ public class CommonPagerIndicator extends View implements IPagerIndicator {
 
     private List<PositionData> mPositionDataList;
     private Rect mDrawableRect = new Rect();
+    private PositionData mCurrent = new PositionData();
+    private PositionData mNext = new PositionData();
 
     public CommonPagerIndicator(Context context) {
         super(context);
@@ -54,8 +56,8 @@ public class CommonPagerIndicator extends View implements IPagerIndicator {
         }
 
         // 计算锚点位置
-        PositionData current = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position);
-        PositionData next = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position + 1);
+        PositionData current = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position, mCurrent);
+        PositionData next = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position + 1, mNext);
 
         float leftX;
         float nextLeftX;
@@ -5,7 +5,6 @@ import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.PointF;
-import android.util.SparseArray;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewConfiguration;
@@ -13,8 +12,9 @@ import android.view.animation.Interpolator;
 import android.view.animation.LinearInterpolator;
 
 import net.lucode.hackware.magicindicator.NavigatorHelper;
+import net.lucode.hackware.magicindicator.TabStateStore;
 import net.lucode.hackware.magicindicator.abs.IPagerNavigator;
-import net.lucode.hackware.magicindicator.buildins.ArgbEvaluatorHolder;
+import net.lucode.hackware.magicindicator.buildins.ColorRamp;
 import net.lucode.hackware.magicindicator.buildins.UIUtil;
 
 import java.util.ArrayList;
@@ -59,7 +59,8 @@ public class ScaleCircleNavigator extends View implements IPagerNavigator, Navig
 
     private Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
     private List<PointF> mCirclePoints = new ArrayList<PointF>();
-    private SparseArray<Float> mCircleRadiusArray = new SparseArray<Float>();
+    private TabStateStore mCircleRadiusArray = new TabStateStore();
+    private ColorRamp mColorRamp;   // 所有圆点共用同一对颜色，查表代替逐个计算
 
     // 事件回调
     private boolean mTouchable;
@@ -82,6 +83,7 @@ public class ScaleCircleNavigator extends View implements IPagerNavigator, Navig
         mMinRadius = UIUtil.dip2px(context, 3);
         mMaxRadius = UIUtil.dip2px(context, 5);
         mCircleSpacing = UIUtil.dip2px(context, 8);
+        mCircleRadiusArray.setDefaultValue(mMinRadius);
         mNavigatorHelper.setNavigatorScrollListener(this);
         mNavigatorHelper.setSkimOver(true);
     }
@@ -129,10 +131,11 @@ public class ScaleCircleNavigator extends View implements IPagerNavigator, Navig
 
     @Override
     protected void onDraw(Canvas canvas) {
+        mColorRamp = ColorRamp.obtain(mColorRamp, mNormalCircleColor, mSelectedCircleColor, false);
         for (int i = 0, j = mCirclePoints.size(); i < j; i++) {
             PointF point = mCirclePoints.get(i);
-            float radius = mCircleRadiusArray.get(i, (float) mMinRadius);
-            mPaint.setColor(ArgbEvaluatorHolder.eval((radius - mMinRadius) / (mMaxRadius - mMinRadius), mNormalCircleColor, mSelectedCircleColor));
+            float radius = mCircleRadiusArray.get(i);
+            mPaint.setColor(mColorRamp.eval((radius - mMinRadius) / (mMaxRadius - mMinRadius)));
             canvas.drawCircle(point.x, getHeight() / 2.0f, radius, mPaint);
         }
     }
@@ -221,17 +224,33 @@ public class ScaleCircleNavigator extends View implements IPagerNavigator, Navig
     }
 
     public void setMinRadius(int minRadius) {
+        int oldMinRadius = mMinRadius;
         mMinRadius = minRadius;
+        mCircleRadiusArray.setDefaultValue(mMinRadius);
+        rescaleCircleRadius(oldMinRadius, mMaxRadius);
         prepareCirclePoints();
         invalidate();
     }
 
     public void setMaxRadius(int maxRadius) {
+        int oldMaxRadius = mMaxRadius;
         mMaxRadius = maxRadius;
+        rescaleCircleRadius(mMinRadius, oldMaxRadius);
         prepareCirclePoints();
         invalidate();
     }
 
+    /**
+     * 已保存的半径按其在原半径区间中的比例换算到新的区间
+     */
+    private void rescaleCircleRadius(int oldMinRadius, int oldMaxRadius) {
+        int oldRange = oldMaxRadius - oldMinRadius;
+        for (int i = 0; i < mCircleCount; i++) {
+            float fraction = oldRange == 0 ? 0.0f : (mCircleRadiusArray.get(i) - oldMinRadius) / oldRange;
+            mCircleRadiusArray.put(i, mMinRadius + (mMaxRadius - mMinRadius) * fraction);
+        }
+    }
+
     public void setNormalCircleColor(int normalCircleColor) {
         mNormalCircleColor = normalCircleColor;
         invalidate();
@@ -258,6 +277,7 @@ public class ScaleCircleNavigator extends View implements IPagerNavigator, Navig
     public void setCircleCount(int count) {
         mCircleCount = count;  // 此处不调用invalidate，让外部调用notifyDataSetChanged
         mNavigatorHelper.setTotalCount(mCircleCount);
+        mCircleRadiusArray.setCount(mCircleCount);
     }
 
     public void setTouchable(boolean touchable) {
@@ -300,7 +320,7 @@ public class ScaleCircleNavigator extends View implements IPagerNavigator, Navig
     @Override
     public void onSelected(int index, int totalCount) {
         if (!mFollowTouch) {
-            mCircleRadiusArray.put(index, (float) mMaxRadius);
+            mCircleRadiusArray.put(index, mMaxRadius);
             invalidate();
         }
     }
@@ -308,7 +328,7 @@ public class ScaleCircleNavigator extends View implements IPagerNavigator, Navig
     @Override
     public void onDeselected(int index, int totalCount) {
         if (!mFollowTouch) {
-            mCircleRadiusArray.put(index, (float) mMinRadius);
+            mCircleRadiusArray.put(index, mMinRadius);
             invalidate();
         }
     }
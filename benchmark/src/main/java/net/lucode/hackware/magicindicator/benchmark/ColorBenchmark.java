@@ -0,0 +1,69 @@
+package net.lucode.hackware.magicindicator.benchmark;
+
+import net.lucode.hackware.magicindicator.buildins.ArgbEvaluatorHolder;
+import net.lucode.hackware.magicindicator.buildins.ColorRamp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 指示器和title每帧计算渐变色的开销，每次调用求一帧的颜色
+ * colorRampObtain与指示器的evalColor一致，每帧先通过ColorRamp.obtain()取得渐变表再查表
+ * colorRampCreate为颜色变化(如滑到下一页)时重新创建渐变表的开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorBenchmark {
+    private static final int START_COLOR = 0xFFFF5722;
+    private static final int END_COLOR = 0xFF2196F3;
+    private static final int FRAMES = 1024;
+
+    private int mFrame;
+    private ColorRamp mLinearRamp = new ColorRamp(START_COLOR, END_COLOR, false);
+    private ColorRamp mGammaRamp = new ColorRamp(START_COLOR, END_COLOR, true);
+    private ColorRamp mObtainedRamp;
+
+    @Benchmark
+    public int argbEvaluator() {
+        return ArgbEvaluatorHolder.eval(nextFraction(), START_COLOR, END_COLOR);
+    }
+
+    @Benchmark
+    public int colorRampLinear() {
+        return mLinearRamp.eval(nextFraction());
+    }
+
+    @Benchmark
+    public int colorRampGamma() {
+        return mGammaRamp.eval(nextFraction());
+    }
+
+    @Benchmark
+    public int colorRampObtain() {
+        mObtainedRamp = ColorRamp.obtain(mObtainedRamp, START_COLOR, END_COLOR, true);
+        return mObtainedRamp.eval(nextFraction());
+    }
+
+    @Benchmark
+    public ColorRamp colorRampCreate() {
+        return new ColorRamp(START_COLOR, END_COLOR, true);
+    }
+
+    private float nextFraction() {
+        mFrame = (mFrame + 1) % FRAMES;
+        return mFrame / (float) FRAMES;
+    }
+}
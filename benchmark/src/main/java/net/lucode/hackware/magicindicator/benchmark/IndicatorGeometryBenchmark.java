@@ -0,0 +1,142 @@
+package net.lucode.hackware.magicindicator.benchmark;
+
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内置指示器在onPageScrolled中计算一帧几何形状的开销，与各指示器的实现一致，不包含颜色、插值器和刷新
+ * 插值器按默认值展开: Line、Wrap、Triangular为线性，Bezier为Accelerate、Decelerate
+ * 每帧从PositionTable读取相邻两个title的坐标再计算锚点
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndicatorGeometryBenchmark {
+    private static final int FRAMES_PER_PAGE = 16;
+    private static final float X_OFFSET = 10.0f;
+    private static final float HORIZONTAL_PADDING = 30.0f;
+    private static final float VERTICAL_PADDING = 18.0f;
+    private static final float MAX_CIRCLE_RADIUS = 10.5f;
+    private static final float MIN_CIRCLE_RADIUS = 6.0f;
+    private static final int MODE_MATCH_EDGE = 0;   // 与LinePagerIndicator一致
+    private static final int MODE_WRAP_CONTENT = 1;
+
+    @Param({"5", "50", "500"})
+    public int mTabCount;
+
+    private PositionTable mPositionTable = new PositionTable();
+    private int mLineMode = MODE_MATCH_EDGE;
+    private float mLineWidth = 30.0f;
+    private int mFrame;
+
+    @Setup
+    public void setup() {
+        mPositionTable.update(TitlePositions.create(mTabCount));
+    }
+
+    @Benchmark
+    public float line() {
+        int position = nextFrame();
+        float positionOffset = positionOffset();
+        int nextPosition = position + 1;
+        float leftX;
+        float nextLeftX;
+        float rightX;
+        float nextRightX;
+        if (mLineMode == MODE_MATCH_EDGE) {
+            leftX = mPositionTable.getLeft(position) + X_OFFSET;
+            nextLeftX = mPositionTable.getLeft(nextPosition) + X_OFFSET;
+            rightX = mPositionTable.getRight(position) - X_OFFSET;
+            nextRightX = mPositionTable.getRight(nextPosition) - X_OFFSET;
+        } else if (mLineMode == MODE_WRAP_CONTENT) {
+            leftX = mPositionTable.getContentLeft(position) + X_OFFSET;
+            nextLeftX = mPositionTable.getContentLeft(nextPosition) + X_OFFSET;
+            rightX = mPositionTable.getContentRight(position) - X_OFFSET;
+            nextRightX = mPositionTable.getContentRight(nextPosition) - X_OFFSET;
+        } else {
+            leftX = mPositionTable.getLeft(position) + (mPositionTable.getWidth(position) - mLineWidth) / 2;
+            nextLeftX = mPositionTable.getLeft(nextPosition) + (mPositionTable.getWidth(nextPosition) - mLineWidth) / 2;
+            rightX = mPositionTable.getLeft(position) + (mPositionTable.getWidth(position) + mLineWidth) / 2;
+            nextRightX = mPositionTable.getLeft(nextPosition) + (mPositionTable.getWidth(nextPosition) + mLineWidth) / 2;
+        }
+        float left = leftX + (nextLeftX - leftX) * positionOffset;
+        float right = rightX + (nextRightX - rightX) * positionOffset;
+        return right - left;
+    }
+
+    @Benchmark
+    public float wrap() {
+        int position = nextFrame();
+        float positionOffset = positionOffset();
+        int nextPosition = position + 1;
+        float leftX = mPositionTable.getContentLeft(position) - HORIZONTAL_PADDING;
+        float nextLeftX = mPositionTable.getContentLeft(nextPosition) - HORIZONTAL_PADDING;
+        float rightX = mPositionTable.getContentRight(position) + HORIZONTAL_PADDING;
+        float nextRightX = mPositionTable.getContentRight(nextPosition) + HORIZONTAL_PADDING;
+        float left = leftX + (nextLeftX - leftX) * positionOffset;
+        float top = mPositionTable.getContentTop(position) - VERTICAL_PADDING;
+        float right = rightX + (nextRightX - rightX) * positionOffset;
+        float bottom = mPositionTable.getContentBottom(position) + VERTICAL_PADDING;
+        return (right - left) * (bottom - top);
+    }
+
+    @Benchmark
+    public float bezier() {
+        int position = nextFrame();
+        float positionOffset = positionOffset();
+        float leftX = mPositionTable.getHorizontalCenter(position);
+        float rightX = mPositionTable.getHorizontalCenter(position + 1);
+        float startFraction = accelerate(positionOffset);
+        float endFraction = decelerate(positionOffset);
+        float leftCircleX = leftX + (rightX - leftX) * startFraction;
+        float rightCircleX = leftX + (rightX - leftX) * endFraction;
+        float leftCircleRadius = MAX_CIRCLE_RADIUS + (MIN_CIRCLE_RADIUS - MAX_CIRCLE_RADIUS) * endFraction;
+        float rightCircleRadius = MIN_CIRCLE_RADIUS + (MAX_CIRCLE_RADIUS - MIN_CIRCLE_RADIUS) * startFraction;
+        return Math.max(leftCircleX + leftCircleRadius, rightCircleX + rightCircleRadius)
+                - Math.min(leftCircleX - leftCircleRadius, rightCircleX - rightCircleRadius);
+    }
+
+    @Benchmark
+    public float triangular() {
+        int position = nextFrame();
+        float leftX = mPositionTable.getHorizontalCenter(position);
+        float rightX = mPositionTable.getHorizontalCenter(position + 1);
+        return leftX + (rightX - leftX) * positionOffset();
+    }
+
+    /**
+     * @return 本帧的position，从0滑到最后一页后重新开始
+     */
+    private int nextFrame() {
+        mFrame = (mFrame + 1) % (mTabCount * FRAMES_PER_PAGE);
+        return mFrame / FRAMES_PER_PAGE;
+    }
+
+    private float positionOffset() {
+        return (mFrame % FRAMES_PER_PAGE) / (float) FRAMES_PER_PAGE;
+    }
+
+    private static float accelerate(float input) {
+        return input * input;
+    }
+
+    private static float decelerate(float input) {
+        return 1.0f - (1.0f - input) * (1.0f - input);
+    }
+}
@@ -0,0 +1,87 @@
+package net.lucode.hackware.magicindicator.benchmark;
+
+import android.view.animation.Interpolator;
+
+import net.lucode.hackware.magicindicator.buildins.SampledInterpolator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每帧求一次插值的开销，source为原插值器，sampled为SampledInterpolator
+ * android.jar中只有空实现，以下插值器与对应的内置插值器公式一致
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpolatorBenchmark {
+    private static final int FRAMES = 1024;
+
+    @Param({"accelerate2", "accelerateDecelerate"})
+    public String mInterpolator;
+
+    private Interpolator mSource;
+    private Interpolator mSampled;
+    private int mFrame;
+
+    @Setup
+    public void setup() {
+        if ("accelerate2".equals(mInterpolator)) {
+            mSource = new Accelerate(2.0f);
+        } else if ("accelerateDecelerate".equals(mInterpolator)) {
+            mSource = new AccelerateDecelerate();
+        } else {
+            throw new IllegalArgumentException("interpolator " + mInterpolator + " not supported.");
+        }
+        mSampled = new SampledInterpolator(mSource);
+    }
+
+    @Benchmark
+    public float source() {
+        return mSource.getInterpolation(nextFraction());
+    }
+
+    @Benchmark
+    public float sampled() {
+        return mSampled.getInterpolation(nextFraction());
+    }
+
+    private float nextFraction() {
+        mFrame = (mFrame + 1) % FRAMES;
+        return mFrame / (float) FRAMES;
+    }
+
+    private static class Accelerate implements Interpolator {
+        private final float mDoubleFactor;
+
+        Accelerate(float factor) {
+            mDoubleFactor = 2 * factor;
+        }
+
+        @Override
+        public float getInterpolation(float input) {
+            return (float) Math.pow(input, mDoubleFactor);
+        }
+    }
+
+    private static class AccelerateDecelerate implements Interpolator {
+        @Override
+        public float getInterpolation(float input) {
+            return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+        }
+    }
+}
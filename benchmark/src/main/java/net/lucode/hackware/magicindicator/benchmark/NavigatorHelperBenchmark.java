@@ -0,0 +1,109 @@
+package net.lucode.hackware.magicindicator.benchmark;
+
+import net.lucode.hackware.magicindicator.NavigatorHelper;
+import net.lucode.hackware.magicindicator.ScrollState;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NavigatorHelper分发滚动回调的开销，按title数量和是否跳过中间title分组
+ * swipe为相邻两页之间的一次完整滑动，jump为从第一页直接切换到最后一页再切换回来
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NavigatorHelperBenchmark {
+    private static final int FRAMES_PER_PAGE = 16;  // 滑过一页时onPageScrolled的回调次数
+
+    @Param({"5", "50", "500"})
+    public int mTabCount;
+
+    @Param({"false", "true"})
+    public boolean mSkimOver;
+
+    private NavigatorHelper mNavigatorHelper;
+    private CountingListener mListener;
+    private int mCurrentIndex;
+
+    @Setup
+    public void setup() {
+        mListener = new CountingListener();
+        mNavigatorHelper = new NavigatorHelper();
+        mNavigatorHelper.setNavigatorScrollListener(mListener);
+        mNavigatorHelper.setSkimOver(mSkimOver);
+        mNavigatorHelper.setTotalCount(mTabCount);
+        mNavigatorHelper.onPageSelected(0);
+        mCurrentIndex = 0;
+    }
+
+    @Benchmark
+    public int swipe() {
+        int to = mCurrentIndex + 1 < mTabCount ? mCurrentIndex + 1 : mCurrentIndex - 1;
+        swipe(mCurrentIndex, to);
+        return mListener.mCount;
+    }
+
+    @Benchmark
+    public int jump() {
+        swipe(0, mTabCount - 1);
+        swipe(mTabCount - 1, 0);
+        return mListener.mCount;
+    }
+
+    /**
+     * 模拟ViewPager从from滑动到to的回调顺序
+     */
+    private void swipe(int from, int to) {
+        mNavigatorHelper.onPageScrollStateChanged(ScrollState.SCROLL_STATE_DRAGGING);
+        mNavigatorHelper.onPageSelected(to);
+        mNavigatorHelper.onPageScrollStateChanged(ScrollState.SCROLL_STATE_SETTLING);
+        int steps = Math.abs(to - from) * FRAMES_PER_PAGE;
+        for (int i = 1; i < steps; i++) {
+            float positionOffsetSum = from + (to - from) * i / (float) steps;
+            int position = (int) positionOffsetSum;
+            mNavigatorHelper.onPageScrolled(position, positionOffsetSum - position, 0);
+        }
+        mNavigatorHelper.onPageScrolled(to, 0.0f, 0);
+        mNavigatorHelper.onPageScrollStateChanged(ScrollState.SCROLL_STATE_IDLE);
+        mCurrentIndex = to;
+    }
+
+    private static class CountingListener implements NavigatorHelper.OnNavigatorScrollListener {
+        int mCount;
+
+        @Override
+        public void onEnter(int index, int totalCount, float enterPercent, boolean leftToRight) {
+            mCount++;
+        }
+
+        @Override
+        public void onLeave(int index, int totalCount, float leavePercent, boolean leftToRight) {
+            mCount++;
+        }
+
+        @Override
+        public void onSelected(int index, int totalCount) {
+            mCount++;
+        }
+
+        @Override
+        public void onDeselected(int index, int totalCount) {
+            mCount++;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package net.lucode.hackware.magicindicator.benchmark;
+
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionData;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 读取(可以越界的)某个title坐标的开销，下标从-1到tabCount循环，包含首尾两个越界位置
+ * FragmentContainerHelper依赖Android，无法在JVM上编译，list为其getImitativePositionData(List, int, PositionData)的副本
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositionDataBenchmark {
+    @Param({"5", "50", "500"})
+    public int mTabCount;
+
+    private List<PositionData> mPositionDataList;
+    private PositionTable mPositionTable = new PositionTable();
+    private PositionData mOut = new PositionData();
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        mPositionDataList = TitlePositions.create(mTabCount);
+        mPositionTable.update(mPositionDataList);
+        mIndex = -1;
+    }
+
+    @Benchmark
+    public int list() {
+        return getImitativePositionData(mPositionDataList, nextIndex(), mOut).mContentRight;
+    }
+
+    @Benchmark
+    public int positionTable() {
+        mPositionTable.getPositionData(nextIndex(), mOut);
+        return mOut.mContentRight;
+    }
+
+    private int nextIndex() {
+        mIndex = mIndex < mTabCount ? mIndex + 1 : -1;
+        return mIndex;
+    }
+
+    private static PositionData getImitativePositionData(List<PositionData> positionDataList, int index, PositionData out) {
+        PositionData referenceData;
+        int offset;
+        if (index < 0) {
+            offset = index;
+            referenceData = positionDataList.get(0);
+        } else if (index > positionDataList.size() - 1) {
+            offset = index - positionDataList.size() + 1;
+            referenceData = positionDataList.get(positionDataList.size() - 1);
+        } else {
+            offset = 0;
+            referenceData = positionDataList.get(index);
+        }
+        int width = referenceData.width();
+        out.mLeft = referenceData.mLeft + offset * width;
+        out.mTop = referenceData.mTop;
+        out.mRight = referenceData.mRight + offset * width;
+        out.mBottom = referenceData.mBottom;
+        out.mContentLeft = referenceData.mContentLeft + offset * width;
+        out.mContentTop = referenceData.mContentTop;
+        out.mContentRight = referenceData.mContentRight + offset * width;
+        out.mContentBottom = referenceData.mContentBottom;
+        return out;
+    }
+}
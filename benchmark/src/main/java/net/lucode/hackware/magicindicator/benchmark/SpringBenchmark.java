@@ -0,0 +1,39 @@
+package net.lucode.hackware.magicindicator.benchmark;
+
+import net.lucode.hackware.magicindicator.CriticallyDampedSpring;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FragmentContainerHelper弹簧模式下每帧推进弹簧的开销，静止后切换到另一个目标继续推进
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpringBenchmark {
+    private static final float FRAME = 1.0f / 60;
+
+    private CriticallyDampedSpring mSpring = new CriticallyDampedSpring();
+
+    @Benchmark
+    public float step() {
+        mSpring.step(FRAME);
+        if (mSpring.isAtRest()) {
+            mSpring.setTarget(mSpring.getTarget() == 0.0f ? 1.0f : 0.0f);
+        }
+        return mSpring.getPosition();
+    }
+}
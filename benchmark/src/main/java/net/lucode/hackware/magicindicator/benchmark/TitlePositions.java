@@ -0,0 +1,38 @@
+package net.lucode.hackware.magicindicator.benchmark;
+
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 模拟CommonNavigator提供给指示器的坐标数据，title宽度不一致，内容在title中居中
+ */
+final class TitlePositions {
+    private static final int HEIGHT = 150;
+    private static final int CONTENT_HEIGHT = 40;
+
+    private TitlePositions() {
+    }
+
+    static List<PositionData> create(int count) {
+        List<PositionData> dataList = new ArrayList<PositionData>(count);
+        int left = 0;
+        for (int i = 0; i < count; i++) {
+            int contentWidth = 60 + (i * 37) % 90;
+            int width = contentWidth + 60;
+            PositionData data = new PositionData();
+            data.mLeft = left;
+            data.mTop = 0;
+            data.mRight = left + width;
+            data.mBottom = HEIGHT;
+            data.mContentLeft = left + (width - contentWidth) / 2;
+            data.mContentTop = (HEIGHT - CONTENT_HEIGHT) / 2;
+            data.mContentRight = data.mContentLeft + contentWidth;
+            data.mContentBottom = data.mContentTop + CONTENT_HEIGHT;
+            dataList.add(data);
+            left += width;
+        }
+        return dataList;
+    }
+}
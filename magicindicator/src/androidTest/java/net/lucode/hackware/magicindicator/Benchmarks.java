@@ -0,0 +1,33 @@
+package net.lucode.hackware.magicindicator;
+
+import java.util.Arrays;
+
+/**
+ * 设备上的简单计时工具，JMH无法运行依赖Android框架的代码，这部分基准测试在设备上以instrumentation测试的方式运行
+ * 结果输出到logcat，不做断言
+ */
+public final class Benchmarks {
+    private static final int WARM_UP_ROUNDS = 20;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * 预热后执行rounds次action
+     *
+     * @return 单次执行耗时的中位数(纳秒)
+     */
+    public static long median(Runnable action, int rounds) {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            action.run();
+        }
+        long[] durations = new long[rounds];
+        for (int i = 0; i < rounds; i++) {
+            long begin = System.nanoTime();
+            action.run();
+            durations[i] = System.nanoTime() - begin;
+        }
+        Arrays.sort(durations);
+        return durations[rounds / 2];
+    }
+}
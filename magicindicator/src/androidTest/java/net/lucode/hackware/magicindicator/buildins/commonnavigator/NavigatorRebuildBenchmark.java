@@ -0,0 +1,120 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+
+import net.lucode.hackware.magicindicator.Benchmarks;
+import net.lucode.hackware.magicindicator.R;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.CommonNavigatorAdapter;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerIndicator;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerTitleView;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.indicators.LinePagerIndicator;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.titles.SimplePagerTitleView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * 数据变化时CommonNavigator重建容器、title和indicator并完成一次measure、layout的耗时，
+ * 分别测量可滚动模式和自适应模式，并与改动前每次inflate布局、findViewById后添加title和indicator的方式对比
+ */
+@RunWith(AndroidJUnit4.class)
+public class NavigatorRebuildBenchmark {
+    private static final String TAG = "NavigatorRebuildBenchmark";
+    private static final int TITLE_COUNT = 10;
+    private static final int ROUNDS = 100;
+
+    @Test
+    public void rebuild() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                Context context = InstrumentationRegistry.getTargetContext();
+                long inflateScrollable = Benchmarks.median(inflateRebuild(context, R.layout.pager_navigator_layout), ROUNDS);
+                long scrollable = Benchmarks.median(rebuild(createNavigator(context, false)), ROUNDS);
+                long inflateAdjust = Benchmarks.median(inflateRebuild(context, R.layout.pager_navigator_layout_no_scroll), ROUNDS);
+                long adjust = Benchmarks.median(rebuild(createNavigator(context, true)), ROUNDS);
+                Log.i(TAG, TITLE_COUNT + " titles per rebuild: scrollable inflate " + inflateScrollable / 1000 + "us, in code " + scrollable / 1000
+                        + "us; adjust mode inflate " + inflateAdjust / 1000 + "us, in code " + adjust / 1000 + "us");
+            }
+        });
+    }
+
+    private static SimplePagerTitleView createTitle(Context context, int index) {
+        SimplePagerTitleView titleView = new SimplePagerTitleView(context);
+        titleView.setText("Title " + index);
+        return titleView;
+    }
+
+    private static CommonNavigator createNavigator(Context context, boolean adjustMode) {
+        CommonNavigator navigator = new CommonNavigator(context);
+        navigator.setAdjustMode(adjustMode);
+        navigator.setAdapter(new CommonNavigatorAdapter() {
+            @Override
+            public int getCount() {
+                return TITLE_COUNT;
+            }
+
+            @Override
+            public IPagerTitleView getTitleView(Context context, int index) {
+                return createTitle(context, index);
+            }
+
+            @Override
+            public IPagerIndicator getIndicator(Context context) {
+                return new LinePagerIndicator(context);
+            }
+        });
+        navigator.onAttachToMagicIndicator();
+        return navigator;
+    }
+
+    /**
+     * notifyDataSetChanged()会重新init，与切换数据源时的路径一致
+     */
+    private static Runnable rebuild(final CommonNavigator navigator) {
+        final int widthMeasureSpec = View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY);
+        final int heightMeasureSpec = View.MeasureSpec.makeMeasureSpec(150, View.MeasureSpec.EXACTLY);
+        return new Runnable() {
+            @Override
+            public void run() {
+                navigator.notifyDataSetChanged();
+                navigator.measure(widthMeasureSpec, heightMeasureSpec);
+                navigator.layout(0, 0, navigator.getMeasuredWidth(), navigator.getMeasuredHeight());
+            }
+        };
+    }
+
+    /**
+     * 改动前的重建方式：清空后inflate布局，通过findViewById找到容器，再添加相同的title和indicator，
+     * 不包含PositionData等CommonNavigator自身的处理，只用于对比容器的创建和测量、布局
+     */
+    private static Runnable inflateRebuild(final Context context, final int layoutId) {
+        final FrameLayout root = new FrameLayout(context);
+        final int widthMeasureSpec = View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY);
+        final int heightMeasureSpec = View.MeasureSpec.makeMeasureSpec(150, View.MeasureSpec.EXACTLY);
+        return new Runnable() {
+            @Override
+            public void run() {
+                root.removeAllViews();
+                View layout = LayoutInflater.from(context).inflate(layoutId, root);
+                LinearLayout titleContainer = (LinearLayout) layout.findViewById(R.id.title_container);
+                LinearLayout indicatorContainer = (LinearLayout) layout.findViewById(R.id.indicator_container);
+                for (int i = 0; i < TITLE_COUNT; i++) {
+                    titleContainer.addView(createTitle(context, i));
+                }
+                indicatorContainer.addView(new LinePagerIndicator(context),
+                        new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+                root.measure(widthMeasureSpec, heightMeasureSpec);
+                root.layout(0, 0, root.getMeasuredWidth(), root.getMeasuredHeight());
+            }
+        };
+    }
+}
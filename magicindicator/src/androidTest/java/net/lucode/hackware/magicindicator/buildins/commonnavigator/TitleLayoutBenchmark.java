@@ -0,0 +1,123 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator;
+
+import android.content.Context;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.view.View;
+
+import net.lucode.hackware.magicindicator.Benchmarks;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.CommonNavigatorAdapter;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerIndicator;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerTitleView;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.indicators.LinePagerIndicator;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.titles.SimplePagerTitleView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * 200个SimplePagerTitleView的CommonNavigator每次layout的耗时，
+ * 对比每次layout都重新测量文字(改动前)与使用TextMetrics缓存的结果
+ */
+@RunWith(AndroidJUnit4.class)
+public class TitleLayoutBenchmark {
+    private static final String TAG = "TitleLayoutBenchmark";
+    private static final int TITLE_COUNT = 200;
+    private static final int ROUNDS = 100;
+
+    @Test
+    public void layoutTitles() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                Context context = InstrumentationRegistry.getTargetContext();
+                long measuring = Benchmarks.median(relayout(createNavigator(context, true)), ROUNDS);
+                long cached = Benchmarks.median(relayout(createNavigator(context, false)), ROUNDS);
+                Log.i(TAG, TITLE_COUNT + " titles per layout: measuring " + measuring / 1000 + "us, cached " + cached / 1000 + "us");
+            }
+        });
+    }
+
+    private static CommonNavigator createNavigator(Context context, final boolean measureEveryTime) {
+        CommonNavigator navigator = new CommonNavigator(context);
+        navigator.setAdapter(new CommonNavigatorAdapter() {
+            @Override
+            public int getCount() {
+                return TITLE_COUNT;
+            }
+
+            @Override
+            public IPagerTitleView getTitleView(Context context, int index) {
+                SimplePagerTitleView titleView = measureEveryTime ? new MeasuringTitleView(context) : new SimplePagerTitleView(context);
+                titleView.setText("Title " + index);
+                return titleView;
+            }
+
+            @Override
+            public IPagerIndicator getIndicator(Context context) {
+                return new LinePagerIndicator(context);
+            }
+        });
+        navigator.onAttachToMagicIndicator();
+        return navigator;
+    }
+
+    /**
+     * 只让CommonNavigator重新layout，title本身不需要重新测量，耗时主要是采集所有title的PositionData
+     */
+    private static Runnable relayout(final CommonNavigator navigator) {
+        final int widthMeasureSpec = View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY);
+        final int heightMeasureSpec = View.MeasureSpec.makeMeasureSpec(150, View.MeasureSpec.EXACTLY);
+        return new Runnable() {
+            @Override
+            public void run() {
+                navigator.forceLayout();
+                navigator.measure(widthMeasureSpec, heightMeasureSpec);
+                navigator.layout(0, 0, navigator.getMeasuredWidth(), navigator.getMeasuredHeight());
+            }
+        };
+    }
+
+    /**
+     * 改动前的SimplePagerTitleView，每次获取内容区域都重新测量文字
+     */
+    private static class MeasuringTitleView extends SimplePagerTitleView {
+
+        MeasuringTitleView(Context context) {
+            super(context);
+        }
+
+        @Override
+        public int getContentLeft() {
+            Rect bound = new Rect();
+            getPaint().getTextBounds(getText().toString(), 0, getText().length(), bound);
+            int contentWidth = bound.width();
+            return getLeft() + getWidth() / 2 - contentWidth / 2;
+        }
+
+        @Override
+        public int getContentTop() {
+            Paint.FontMetrics metrics = getPaint().getFontMetrics();
+            float contentHeight = metrics.bottom - metrics.top;
+            return (int) (getHeight() / 2 - contentHeight / 2);
+        }
+
+        @Override
+        public int getContentRight() {
+            Rect bound = new Rect();
+            getPaint().getTextBounds(getText().toString(), 0, getText().length(), bound);
+            int contentWidth = bound.width();
+            return getLeft() + getWidth() / 2 + contentWidth / 2;
+        }
+
+        @Override
+        public int getContentBottom() {
+            Paint.FontMetrics metrics = getPaint().getFontMetrics();
+            float contentHeight = metrics.bottom - metrics.top;
+            return (int) (getHeight() / 2 + contentHeight / 2);
+        }
+    }
+}
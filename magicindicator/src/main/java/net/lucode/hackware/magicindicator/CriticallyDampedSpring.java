@@ -0,0 +1,108 @@
+package net.lucode.hackware.magicindicator;
+
+/**
+ * 临界阻尼弹簧(质量为1)，按解析解推进，结果与帧率无关，同样的总时长无论分多少帧推进结果都一致
+ * 位置偏移d满足d(t) = (d0 + (v0 + ω * d0) * t) * e^(-ω * t)，其中ω = sqrt(stiffness)
+ * 修改目标位置时保留当前位置与速度，连续快速切换时运动保持连续
+ * 从静止出发时不会越过目标；带有朝向目标的初速度且v0大于ω * |d0|时(如连续切换时保留的速度)会越过目标一次，之后单调回到目标
+ * 纯Java实现，不依赖Android框架
+ */
+public class CriticallyDampedSpring {
+    public static final float DEFAULT_STIFFNESS = 1500.0f;    // 约0.17秒收敛到1%以内
+
+    private static final float DEFAULT_POSITION_THRESHOLD = 0.0005f;
+    private static final float DEFAULT_VELOCITY_THRESHOLD = 0.05f;
+
+    private float mOmega;
+    private float mPosition;
+    private float mVelocity;
+    private float mTarget;
+    private float mPositionThreshold = DEFAULT_POSITION_THRESHOLD;
+    private float mVelocityThreshold = DEFAULT_VELOCITY_THRESHOLD;
+
+    public CriticallyDampedSpring() {
+        setStiffness(DEFAULT_STIFFNESS);
+    }
+
+    /**
+     * 重置当前位置与速度
+     */
+    public void setState(float position, float velocity) {
+        mPosition = position;
+        mVelocity = velocity;
+    }
+
+    /**
+     * 推进一段时间
+     *
+     * @param deltaSeconds 距上一次推进的时间(秒)，不大于0时不做处理
+     */
+    public void step(float deltaSeconds) {
+        if (deltaSeconds <= 0.0f) {
+            return;
+        }
+        float offset = mPosition - mTarget;
+        float c2 = mVelocity + mOmega * offset;
+        float decay = (float) Math.exp(-mOmega * deltaSeconds);
+        mPosition = mTarget + (offset + c2 * deltaSeconds) * decay;
+        mVelocity = (c2 - mOmega * (offset + c2 * deltaSeconds)) * decay;
+    }
+
+    /**
+     * 位置与速度都小于阈值时视为静止
+     */
+    public boolean isAtRest() {
+        return Math.abs(mPosition - mTarget) < mPositionThreshold && Math.abs(mVelocity) < mVelocityThreshold;
+    }
+
+    /**
+     * 直接停在目标位置
+     */
+    public void snapToTarget() {
+        mPosition = mTarget;
+        mVelocity = 0.0f;
+    }
+
+    public float getPosition() {
+        return mPosition;
+    }
+
+    public float getVelocity() {
+        return mVelocity;
+    }
+
+    public float getTarget() {
+        return mTarget;
+    }
+
+    public void setTarget(float target) {
+        mTarget = target;
+    }
+
+    public float getStiffness() {
+        return mOmega * mOmega;
+    }
+
+    public void setStiffness(float stiffness) {
+        if (stiffness <= 0.0f) {
+            throw new IllegalArgumentException("stiffness must be positive.");
+        }
+        mOmega = (float) Math.sqrt(stiffness);
+    }
+
+    public float getPositionThreshold() {
+        return mPositionThreshold;
+    }
+
+    public void setPositionThreshold(float positionThreshold) {
+        mPositionThreshold = positionThreshold;
+    }
+
+    public float getVelocityThreshold() {
+        return mVelocityThreshold;
+    }
+
+    public void setVelocityThreshold(float velocityThreshold) {
+        mVelocityThreshold = velocityThreshold;
+    }
+}
@@ -6,8 +6,11 @@ import android.animation.ValueAnimator;
 import android.annotation.TargetApi;
 import android.os.Build;
 import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.AnimationUtils;
 import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
 
+import net.lucode.hackware.magicindicator.buildins.SampledInterpolator;
 import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionData;
 
 import java.util.ArrayList;
@@ -19,26 +22,58 @@ import java.util.List;
  * Created by hackware on 2016/9/4.
  */
 
-@TargetApi(Build.VERSION_CODES.HONEYCOMB)
+@TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
 public class FragmentContainerHelper {
+    public static final int ANIMATION_MODE_DURATION = 0;    // 固定时长的插值动画，默认模式
+    public static final int ANIMATION_MODE_SPRING = 1;  // 临界阻尼弹簧，连续切换时保留速度
+
+    private static final int SPRING_ANIMATOR_DURATION = 1000;   // 弹簧模式下动画器只用于驱动逐帧回调，无限重复直到静止
+
     private List<MagicIndicator> mMagicIndicators = new ArrayList<MagicIndicator>();
-    private ValueAnimator mScrollAnimator;
+    private ValueAnimator mScrollAnimator;  // 只创建一次，切换目标时直接重新开始
     private int mLastSelectedIndex;
     private int mDuration = 150;
-    private Interpolator mInterpolator = new AccelerateDecelerateInterpolator();
+    private Interpolator mInterpolator = new SampledInterpolator(new AccelerateDecelerateInterpolator());
+
+    // 动画的起止位置及当前位置，由mScrollAnimator的进度计算得到，不使用getAnimatedValue()，避免每帧装箱
+    private float mStartPositionOffsetSum;
+    private float mEndPositionOffsetSum;
+    private float mCurrentPositionOffsetSum;
+    private boolean mRetargeting;   // 为true时取消动画不分发SCROLL_STATE_IDLE
+
+    private int mAnimationMode = ANIMATION_MODE_DURATION;
+    private int mRunningMode;   // 正在进行的动画所使用的模式
+    private CriticallyDampedSpring mSpring = new CriticallyDampedSpring();
+    private long mLastFrameTime;
 
     private Animator.AnimatorListener mAnimatorListener = new AnimatorListenerAdapter() {
         @Override
         public void onAnimationEnd(Animator animation) {
-            dispatchPageScrollStateChanged(ScrollState.SCROLL_STATE_IDLE);
-            mScrollAnimator = null;
+            if (!mRetargeting) {
+                dispatchPageScrollStateChanged(ScrollState.SCROLL_STATE_IDLE);
+            }
         }
     };
 
     private ValueAnimator.AnimatorUpdateListener mAnimatorUpdateListener = new ValueAnimator.AnimatorUpdateListener() {
         @Override
         public void onAnimationUpdate(ValueAnimator animation) {
-            float positionOffsetSum = (Float) animation.getAnimatedValue();
+            float positionOffsetSum;
+            boolean atRest = false;
+            if (mRunningMode == ANIMATION_MODE_SPRING) {
+                long frameTime = AnimationUtils.currentAnimationTimeMillis();
+                mSpring.step((frameTime - mLastFrameTime) / 1000.0f);
+                mLastFrameTime = frameTime;
+                atRest = mSpring.isAtRest();
+                if (atRest) {
+                    mSpring.snapToTarget();
+                }
+                positionOffsetSum = mSpring.getPosition();
+            } else {
+                float fraction = mInterpolator.getInterpolation(animation.getAnimatedFraction());
+                positionOffsetSum = mStartPositionOffsetSum + (mEndPositionOffsetSum - mStartPositionOffsetSum) * fraction;
+            }
+            mCurrentPositionOffsetSum = positionOffsetSum;
             int position = (int) positionOffsetSum;
             float positionOffset = positionOffsetSum - position;
             if (positionOffsetSum < 0) {
@@ -46,6 +81,9 @@ public class FragmentContainerHelper {
                 positionOffset = 1.0f + positionOffset;
             }
             dispatchPageScrolled(position, positionOffset, 0);
+            if (atRest) {
+                animation.cancel(); // 分发SCROLL_STATE_IDLE
+            }
         }
     };
 
@@ -58,6 +96,7 @@ public class FragmentContainerHelper {
 
     /**
      * IPagerIndicator支持弹性效果的辅助方法
+     * 越界时每次都会创建新的PositionData，每帧调用时请使用{@link #getImitativePositionData(List, int, PositionData)}
      *
      * @param positionDataList
      * @param index
@@ -67,28 +106,43 @@ public class FragmentContainerHelper {
         if (index >= 0 && index <= positionDataList.size() - 1) { // 越界后，返回假的PositionData
             return positionDataList.get(index);
         } else {
-            PositionData result = new PositionData();
-            PositionData referenceData;
-            int offset;
-            if (index < 0) {
-                offset = index;
-                referenceData = positionDataList.get(0);
-            } else {
-                offset = index - positionDataList.size() + 1;
-                referenceData = positionDataList.get(positionDataList.size() - 1);
-            }
-            result.mLeft = referenceData.mLeft + offset * referenceData.width();
-            result.mTop = referenceData.mTop;
-            result.mRight = referenceData.mRight + offset * referenceData.width();
-            result.mBottom = referenceData.mBottom;
-            result.mContentLeft = referenceData.mContentLeft + offset * referenceData.width();
-            result.mContentTop = referenceData.mContentTop;
-            result.mContentRight = referenceData.mContentRight + offset * referenceData.width();
-            result.mContentBottom = referenceData.mContentBottom;
-            return result;
+            return getImitativePositionData(positionDataList, index, new PositionData());
         }
     }
 
+    /**
+     * 不产生对象的版本，无论是否越界，结果都写入调用方提供的out
+     *
+     * @param positionDataList
+     * @param index
+     * @param out              用于保存结果，通常为指示器的成员变量
+     * @return out
+     */
+    public static PositionData getImitativePositionData(List<PositionData> positionDataList, int index, PositionData out) {
+        PositionData referenceData;
+        int offset;
+        if (index < 0) {
+            offset = index;
+            referenceData = positionDataList.get(0);
+        } else if (index > positionDataList.size() - 1) {
+            offset = index - positionDataList.size() + 1;
+            referenceData = positionDataList.get(positionDataList.size() - 1);
+        } else {
+            offset = 0;
+            referenceData = positionDataList.get(index);
+        }
+        int width = referenceData.width();
+        out.mLeft = referenceData.mLeft + offset * width;
+        out.mTop = referenceData.mTop;
+        out.mRight = referenceData.mRight + offset * width;
+        out.mBottom = referenceData.mBottom;
+        out.mContentLeft = referenceData.mContentLeft + offset * width;
+        out.mContentTop = referenceData.mContentTop;
+        out.mContentRight = referenceData.mContentRight + offset * width;
+        out.mContentBottom = referenceData.mContentBottom;
+        return out;
+    }
+
     public void handlePageSelected(int selectedIndex) {
         handlePageSelected(selectedIndex, true);
     }
@@ -97,27 +151,31 @@ public class FragmentContainerHelper {
         if (mLastSelectedIndex == selectedIndex) {
             return;
         }
+        boolean running = mScrollAnimator != null && mScrollAnimator.isRunning();
         if (smooth) {
-            if (mScrollAnimator == null || !mScrollAnimator.isRunning()) {
+            if (!running) {
                 dispatchPageScrollStateChanged(ScrollState.SCROLL_STATE_SETTLING);
+                mCurrentPositionOffsetSum = mLastSelectedIndex;
             }
             dispatchPageSelected(selectedIndex);
-            float currentPositionOffsetSum = mLastSelectedIndex;
-            if (mScrollAnimator != null) {
-                currentPositionOffsetSum = (Float) mScrollAnimator.getAnimatedValue();
-                mScrollAnimator.cancel();
-                mScrollAnimator = null;
+            if (mAnimationMode == ANIMATION_MODE_SPRING) {
+                startSpring(selectedIndex, running);
+            } else {
+                mStartPositionOffsetSum = mCurrentPositionOffsetSum;
+                mEndPositionOffsetSum = selectedIndex;  // position = selectedIndex, positionOffset = 0.0f
+                ValueAnimator animator = obtainScrollAnimator();
+                if (running) {
+                    cancelSilently();
+                }
+                mRunningMode = ANIMATION_MODE_DURATION;
+                animator.setRepeatCount(0);
+                animator.setDuration(mDuration);
+                animator.start();
             }
-            mScrollAnimator = new ValueAnimator();
-            mScrollAnimator.setFloatValues(currentPositionOffsetSum, selectedIndex);    // position = selectedIndex, positionOffset = 0.0f
-            mScrollAnimator.addUpdateListener(mAnimatorUpdateListener);
-            mScrollAnimator.addListener(mAnimatorListener);
-            mScrollAnimator.setInterpolator(mInterpolator);
-            mScrollAnimator.setDuration(mDuration);
-            mScrollAnimator.start();
         } else {
             dispatchPageSelected(selectedIndex);
-            if (mScrollAnimator != null && mScrollAnimator.isRunning()) {
+            if (running) {
+                cancelSilently();
                 dispatchPageScrolled(mLastSelectedIndex, 0.0f, 0);
             }
             dispatchPageScrollStateChanged(ScrollState.SCROLL_STATE_IDLE);
@@ -126,18 +184,83 @@ public class FragmentContainerHelper {
         mLastSelectedIndex = selectedIndex;
     }
 
+    /**
+     * 弹簧正在运动时只修改目标位置，保留当前速度；否则从当前位置静止出发
+     */
+    private void startSpring(int selectedIndex, boolean running) {
+        mSpring.setTarget(selectedIndex);
+        if (running && mRunningMode == ANIMATION_MODE_SPRING) {
+            return;
+        }
+        mSpring.setState(mCurrentPositionOffsetSum, 0.0f);
+        ValueAnimator animator = obtainScrollAnimator();
+        if (running) {
+            cancelSilently();
+        }
+        mRunningMode = ANIMATION_MODE_SPRING;
+        mLastFrameTime = AnimationUtils.currentAnimationTimeMillis();
+        animator.setRepeatCount(ValueAnimator.INFINITE);
+        animator.setDuration(SPRING_ANIMATOR_DURATION);
+        animator.start();
+    }
+
+    private ValueAnimator obtainScrollAnimator() {
+        if (mScrollAnimator == null) {
+            mScrollAnimator = ValueAnimator.ofFloat(0.0f, 1.0f);
+            mScrollAnimator.setInterpolator(new LinearInterpolator());  // 插值在mAnimatorUpdateListener中进行
+            mScrollAnimator.addUpdateListener(mAnimatorUpdateListener);
+            mScrollAnimator.addListener(mAnimatorListener);
+        }
+        return mScrollAnimator;
+    }
+
+    /**
+     * 取消正在进行的动画，但不分发SCROLL_STATE_IDLE
+     */
+    private void cancelSilently() {
+        mRetargeting = true;
+        mScrollAnimator.cancel();
+        mRetargeting = false;
+    }
+
     public void setDuration(int duration) {
         mDuration = duration;
     }
 
     public void setInterpolator(Interpolator interpolator) {
         if (interpolator == null) {
-            mInterpolator = new AccelerateDecelerateInterpolator();
+            mInterpolator = new SampledInterpolator(new AccelerateDecelerateInterpolator());
+        } else {
+            mInterpolator = SampledInterpolator.of(interpolator);
+        }
+    }
+
+    public int getAnimationMode() {
+        return mAnimationMode;
+    }
+
+    /**
+     * 设置切换动画的模式，对下一次切换生效
+     */
+    public void setAnimationMode(int animationMode) {
+        if (animationMode == ANIMATION_MODE_DURATION || animationMode == ANIMATION_MODE_SPRING) {
+            mAnimationMode = animationMode;
         } else {
-            mInterpolator = interpolator;
+            throw new IllegalArgumentException("animation mode " + animationMode + " not supported.");
         }
     }
 
+    /**
+     * 弹簧模式下的刚度，越大切换越快
+     */
+    public void setSpringStiffness(float stiffness) {
+        mSpring.setStiffness(stiffness);
+    }
+
+    public float getSpringStiffness() {
+        return mSpring.getStiffness();
+    }
+
     public void attachMagicIndicator(MagicIndicator magicIndicator) {
         mMagicIndicators.add(magicIndicator);
     }
@@ -0,0 +1,148 @@
+package net.lucode.hackware.magicindicator;
+
+import java.util.Arrays;
+
+/**
+ * 逐帧耗时统计，用于定位tab栏卡顿来自分发、title、indicator、滚动还是绘制
+ * 每个阶段保存最近若干次耗时(纳秒)的环形缓冲区与累计调用次数，只应在主线程使用
+ * 通过MagicIndicator.setFrameTracer()开启，未设置时各处只多一次判空
+ */
+public class FrameTracer {
+    public static final int SECTION_SCROLL_DISPATCH = 0;    // MagicIndicator.onPageScrolled整体耗时
+    public static final int SECTION_TITLE_TRANSITION = 1;   // title的onEnter、onLeave等状态分发
+    public static final int SECTION_INDICATOR = 2;  // indicator的onPageScrolled
+    public static final int SECTION_SCROLL_VIEW = 3;    // 手指跟随时HorizontalScrollView的滚动
+    public static final int SECTION_POSITION_DATA = 4;  // preparePositionData
+    public static final int SECTION_DRAW = 5;   // MagicIndicator.dispatchDraw
+    public static final int SECTION_COUNT = 6;
+
+    private static final int DEFAULT_CAPACITY = 120;
+
+    private final long[][] mSamples;
+    private final int[] mSampleIndex = new int[SECTION_COUNT];
+    private final int[] mSampleCount = new int[SECTION_COUNT];
+    private final long[] mCallbackCount = new long[SECTION_COUNT];
+    private final long[] mSortBuffer;
+
+    private int mReportInterval = DEFAULT_CAPACITY;
+    private int mFramesSinceReport;
+    private OnFrameTraceListener mOnFrameTraceListener;
+
+    public FrameTracer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity 每个阶段保留的最近耗时数量，百分位数基于这些样本计算
+     */
+    public FrameTracer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive.");
+        }
+        mSamples = new long[SECTION_COUNT][capacity];
+        mSortBuffer = new long[capacity];
+    }
+
+    /**
+     * @return 开始时间，传给end()
+     */
+    public long begin() {
+        return System.nanoTime();
+    }
+
+    public void end(int section, long beginNanos) {
+        long[] samples = mSamples[section];
+        samples[mSampleIndex[section]] = System.nanoTime() - beginNanos;
+        mSampleIndex[section] = (mSampleIndex[section] + 1) % samples.length;
+        if (mSampleCount[section] < samples.length) {
+            mSampleCount[section]++;
+        }
+        mCallbackCount[section]++;
+        if (section == SECTION_DRAW) {
+            onFrameEnd();
+        }
+    }
+
+    /**
+     * 以绘制作为一帧的结束，每mReportInterval帧回调一次listener
+     */
+    private void onFrameEnd() {
+        if (mOnFrameTraceListener != null && ++mFramesSinceReport >= mReportInterval) {
+            mFramesSinceReport = 0;
+            mOnFrameTraceListener.onFrameTrace(this);
+        }
+    }
+
+    /**
+     * 最近样本的百分位耗时
+     *
+     * @param percentile 0.0f - 1.0f，如0.5f、0.9f、0.99f
+     * @return 纳秒，没有样本时返回0
+     */
+    public long getPercentileNanos(int section, float percentile) {
+        int count = mSampleCount[section];
+        if (count == 0) {
+            return 0;
+        }
+        System.arraycopy(mSamples[section], 0, mSortBuffer, 0, count);
+        Arrays.sort(mSortBuffer, 0, count);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return mSortBuffer[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    /**
+     * @return 最近样本中的最大耗时，纳秒
+     */
+    public long getMaxNanos(int section) {
+        long max = 0;
+        long[] samples = mSamples[section];
+        for (int i = 0, j = mSampleCount[section]; i < j; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        return max;
+    }
+
+    /**
+     * @return 自创建或reset()以来的累计调用次数
+     */
+    public long getCallbackCount(int section) {
+        return mCallbackCount[section];
+    }
+
+    public int getSampleCount(int section) {
+        return mSampleCount[section];
+    }
+
+    public void reset() {
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            mSampleIndex[i] = 0;
+            mSampleCount[i] = 0;
+            mCallbackCount[i] = 0;
+        }
+        mFramesSinceReport = 0;
+    }
+
+    public int getReportInterval() {
+        return mReportInterval;
+    }
+
+    public void setReportInterval(int reportInterval) {
+        mReportInterval = Math.max(1, reportInterval);
+    }
+
+    public OnFrameTraceListener getOnFrameTraceListener() {
+        return mOnFrameTraceListener;
+    }
+
+    public void setOnFrameTraceListener(OnFrameTraceListener onFrameTraceListener) {
+        mOnFrameTraceListener = onFrameTraceListener;
+    }
+
+    public interface OnFrameTraceListener {
+
+        /**
+         * 每绘制reportInterval帧回调一次，可在此读取百分位耗时和调用次数
+         */
+        void onFrameTrace(FrameTracer tracer);
+    }
+}
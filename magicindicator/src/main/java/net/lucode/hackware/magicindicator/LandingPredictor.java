@@ -0,0 +1,160 @@
+package net.lucode.hackware.magicindicator;
+
+/**
+ * 根据滚动速度预测手势最终停留的页面，用于在onPageSelected之前预加载目标页的数据
+ * 速度为按时间平滑后的页/秒，与ViewPager一致，一次拖动只会停在开始拖动时的页面或与其相邻的两页之一:
+ * 速度超过FLING_VELOCITY时按速度方向预测，置信度随速度增大；
+ * 否则将当前位置沿速度方向投射一小段时间，投射点离开始拖动的页面超过半页时预测相邻页，置信度为投射点到半页处的距离
+ * 置信度0.0f表示无法判断，1.0f表示确定
+ * 只预测手势拖动，setCurrentItem等程序触发的滚动在onPageSelected时已知目标，不做预测
+ * 通过MagicIndicator.setLandingPredictor()开启，需要通过setTotalCount()设置页面数量，只应在主线程使用
+ */
+public class LandingPredictor {
+    public static final float DEFAULT_CONFIDENCE_THRESHOLD = 0.75f;
+
+    private static final float VELOCITY_TIME_CONSTANT = 0.04f;  // 速度平滑的时间常数(秒)
+    private static final float PROJECTION_TIME = 0.15f; // 沿速度方向投射的时间(秒)
+    private static final float FLING_VELOCITY = 1.0f;   // 视为fling的速度(页/秒)，与ViewPager的最小fling速度相当
+
+    private int mScrollState;
+    private int mSelectedIndex;
+    private int mTotalCount;
+    private int mAnchorIndex = -1;  // 开始拖动时的页面，不是拖动时为-1
+
+    private boolean mHasSample;
+    private float mLastPositionOffsetSum;
+    private long mLastTime;
+    private float mVelocity;
+
+    private int mPredictedIndex = -1;
+    private float mConfidence;
+    private int mReportedIndex = -1;    // 本次手势中已回调过的页面，避免重复回调
+    private float mConfidenceThreshold = DEFAULT_CONFIDENCE_THRESHOLD;
+    private OnLandingPredictedListener mOnLandingPredictedListener;
+
+    /**
+     * @param timeMillis 回调发生的时间，通常为AnimationUtils.currentAnimationTimeMillis()
+     */
+    public void onPageScrolled(int position, float positionOffset, long timeMillis) {
+        float positionOffsetSum = position + positionOffset;
+        if (!mHasSample || mScrollState == ScrollState.SCROLL_STATE_IDLE) {
+            mLastPositionOffsetSum = positionOffsetSum;
+            mLastTime = timeMillis;
+            mHasSample = true;
+            return;
+        }
+        long deltaTime = timeMillis - mLastTime;
+        if (deltaTime > 0) {    // 同一帧内的多次回调合并到下一次计算
+            float seconds = deltaTime / 1000.0f;
+            float instantVelocity = (positionOffsetSum - mLastPositionOffsetSum) / seconds;
+            float alpha = 1.0f - (float) Math.exp(-seconds / VELOCITY_TIME_CONSTANT);
+            mVelocity += (instantVelocity - mVelocity) * alpha;
+            mLastPositionOffsetSum = positionOffsetSum;
+            mLastTime = timeMillis;
+        }
+        if (mAnchorIndex >= 0 && positionOffset != 0.0f) {  // 偏移为0时已停在某一页上，不再预测
+            predict(positionOffsetSum);
+        }
+    }
+
+    public void onPageSelected(int position) {
+        mSelectedIndex = position;
+    }
+
+    public void onPageScrollStateChanged(int state) {
+        if (state == ScrollState.SCROLL_STATE_IDLE || mScrollState == ScrollState.SCROLL_STATE_IDLE) {
+            mVelocity = 0.0f;
+            mHasSample = false;
+            mPredictedIndex = -1;
+            mConfidence = 0.0f;
+            mReportedIndex = -1;
+            mAnchorIndex = -1;
+        }
+        if (state == ScrollState.SCROLL_STATE_DRAGGING) {  // 包括在惯性滚动中再次按住
+            mAnchorIndex = mSelectedIndex;
+        }
+        mScrollState = state;
+    }
+
+    private void predict(float positionOffsetSum) {
+        float relative = positionOffsetSum - mAnchorIndex;   // 相对开始拖动的页面的偏移
+        float speed = Math.abs(mVelocity);
+        if (speed >= FLING_VELOCITY) {
+            // 与ViewPager一致，朝已偏移的一侧fling时停在该侧的相邻页，反向fling时回到开始拖动的页面
+            int side = relative > 0.0f || (relative == 0.0f && mVelocity > 0.0f) ? 1 : -1;
+            mPredictedIndex = mVelocity * side > 0.0f ? mAnchorIndex + side : mAnchorIndex;
+            mConfidence = 0.5f + 0.5f * Math.min(1.0f, (speed - FLING_VELOCITY) / FLING_VELOCITY);
+        } else {
+            float projected = relative + mVelocity * PROJECTION_TIME;
+            int side = projected > 0.0f ? 1 : -1;
+            float distance = Math.min(1.0f, Math.abs(projected));
+            mPredictedIndex = distance >= 0.5f ? mAnchorIndex + side : mAnchorIndex;
+            mConfidence = Math.min(1.0f, Math.abs(distance - 0.5f) * 2.0f);
+        }
+        if (mTotalCount > 0) {
+            mPredictedIndex = Math.max(0, Math.min(mTotalCount - 1, mPredictedIndex));
+        } else {
+            mPredictedIndex = Math.max(0, mPredictedIndex);
+        }
+        if (mPredictedIndex != mSelectedIndex && mPredictedIndex != mReportedIndex && mConfidence >= mConfidenceThreshold) {
+            mReportedIndex = mPredictedIndex;
+            if (mOnLandingPredictedListener != null) {
+                mOnLandingPredictedListener.onLandingPredicted(mPredictedIndex, mConfidence);
+            }
+        }
+    }
+
+    /**
+     * @return 页/秒，向右滚动(下标增大)为正
+     */
+    public float getVelocity() {
+        return mVelocity;
+    }
+
+    /**
+     * @return 滚动停止时为-1
+     */
+    public int getPredictedIndex() {
+        return mPredictedIndex;
+    }
+
+    public int getTotalCount() {
+        return mTotalCount;
+    }
+
+    /**
+     * 预测结果限制在0 - totalCount - 1之间，页面数量变化时需要重新设置，不大于0时只限制下限
+     */
+    public void setTotalCount(int totalCount) {
+        mTotalCount = totalCount;
+    }
+
+    public float getConfidence() {
+        return mConfidence;
+    }
+
+    public float getConfidenceThreshold() {
+        return mConfidenceThreshold;
+    }
+
+    /**
+     * 置信度达到该值时才回调
+     */
+    public void setConfidenceThreshold(float confidenceThreshold) {
+        mConfidenceThreshold = confidenceThreshold;
+    }
+
+    public void setOnLandingPredictedListener(OnLandingPredictedListener onLandingPredictedListener) {
+        mOnLandingPredictedListener = onLandingPredictedListener;
+    }
+
+    public interface OnLandingPredictedListener {
+        /**
+         * 预测将停留在非当前页时回调，同一次手势中每个页面只回调一次
+         *
+         * @param index      预测停留的页面
+         * @param confidence 置信度，0.0f - 1.0f
+         */
+        void onLandingPredicted(int index, float confidence);
+    }
+}
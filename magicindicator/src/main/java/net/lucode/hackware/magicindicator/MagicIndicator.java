@@ -1,8 +1,11 @@
 package net.lucode.hackware.magicindicator;
 
 import android.content.Context;
+import android.graphics.Canvas;
+import android.support.v4.view.ViewCompat;
 import android.util.AttributeSet;
 import android.view.View;
+import android.view.animation.AnimationUtils;
 import android.widget.FrameLayout;
 
 import net.lucode.hackware.magicindicator.abs.IPagerNavigator;
@@ -14,6 +17,24 @@ import net.lucode.hackware.magicindicator.abs.IPagerNavigator;
  */
 public class MagicIndicator extends FrameLayout {
     private IPagerNavigator mNavigator;
+    private FrameTracer mFrameTracer;   // 为null时不做任何统计
+    private LandingPredictor mLandingPredictor; // 为null时不做预测
+    private boolean mCoalesceScroll;    // 合并同一帧内的多次onPageScrolled，只在下一帧分发最新的一次
+
+    // 尚未分发的滚动状态
+    private boolean mHasPendingScroll;
+    private boolean mFlushScheduled;
+    private int mPendingPosition;
+    private float mPendingPositionOffset;
+    private int mPendingPositionOffsetPixels;
+
+    private Runnable mFlushScrollRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mFlushScheduled = false;
+            flushPendingScroll();
+        }
+    };
 
     public MagicIndicator(Context context) {
         super(context);
@@ -24,23 +45,119 @@ public class MagicIndicator extends FrameLayout {
     }
 
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
-        if (mNavigator != null) {
-            mNavigator.onPageScrolled(position, positionOffset, positionOffsetPixels);
+        if (mLandingPredictor != null) {    // 在合并之前，保证每次回调都参与速度计算
+            mLandingPredictor.onPageScrolled(position, positionOffset, AnimationUtils.currentAnimationTimeMillis());
+        }
+        if (mCoalesceScroll) {
+            mPendingPosition = position;
+            mPendingPositionOffset = positionOffset;
+            mPendingPositionOffsetPixels = positionOffsetPixels;
+            mHasPendingScroll = true;
+            if (!mFlushScheduled) {
+                mFlushScheduled = true;
+                ViewCompat.postOnAnimation(this, mFlushScrollRunnable);
+            }
+        } else {
+            dispatchPageScrolled(position, positionOffset, positionOffsetPixels);
         }
     }
 
     public void onPageSelected(int position) {
+        flushPendingScroll();   // 保证事件顺序与ViewPager一致
+        if (mLandingPredictor != null) {
+            mLandingPredictor.onPageSelected(position);
+        }
         if (mNavigator != null) {
             mNavigator.onPageSelected(position);
         }
     }
 
     public void onPageScrollStateChanged(int state) {
+        flushPendingScroll();
+        if (mLandingPredictor != null) {
+            mLandingPredictor.onPageScrollStateChanged(state);
+        }
         if (mNavigator != null) {
             mNavigator.onPageScrollStateChanged(state);
         }
     }
 
+    /**
+     * 立即分发尚未分发的滚动状态
+     */
+    public void flushPendingScroll() {
+        if (mHasPendingScroll) {
+            mHasPendingScroll = false;
+            dispatchPageScrolled(mPendingPosition, mPendingPositionOffset, mPendingPositionOffsetPixels);
+        }
+    }
+
+    private void dispatchPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        if (mNavigator != null) {
+            FrameTracer tracer = mFrameTracer;
+            long begin = tracer != null ? tracer.begin() : 0;
+            mNavigator.onPageScrolled(position, positionOffset, positionOffsetPixels);
+            if (tracer != null) {
+                tracer.end(FrameTracer.SECTION_SCROLL_DISPATCH, begin);
+            }
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        removeCallbacks(mFlushScrollRunnable);
+        mFlushScheduled = false;
+        flushPendingScroll();
+        super.onDetachedFromWindow();
+    }
+
+    public boolean isCoalesceScroll() {
+        return mCoalesceScroll;
+    }
+
+    /**
+     * 设置是否合并同一帧内的多次onPageScrolled，适用于嵌套ViewPager、代码滚动等一帧内回调多次的情况
+     * onPageSelected、onPageScrollStateChanged分发前会先分发尚未分发的滚动状态
+     */
+    public void setCoalesceScroll(boolean coalesceScroll) {
+        mCoalesceScroll = coalesceScroll;
+        if (!coalesceScroll) {
+            flushPendingScroll();
+        }
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        FrameTracer tracer = mFrameTracer;
+        long begin = tracer != null ? tracer.begin() : 0;
+        super.dispatchDraw(canvas);
+        if (tracer != null) {
+            tracer.end(FrameTracer.SECTION_DRAW, begin);
+        }
+    }
+
+    public FrameTracer getFrameTracer() {
+        return mFrameTracer;
+    }
+
+    /**
+     * 设置逐帧耗时统计，传null关闭
+     */
+    public void setFrameTracer(FrameTracer frameTracer) {
+        mFrameTracer = frameTracer;
+    }
+
+    public LandingPredictor getLandingPredictor() {
+        return mLandingPredictor;
+    }
+
+    /**
+     * 设置停留页面预测，传null关闭，页面数量需要通过LandingPredictor.setTotalCount()设置
+     */
+    public void setLandingPredictor(LandingPredictor landingPredictor) {
+        mLandingPredictor = landingPredictor;
+    }
+
     public IPagerNavigator getNavigator() {
         return mNavigator;
     }
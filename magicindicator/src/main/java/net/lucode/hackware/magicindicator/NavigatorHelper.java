@@ -1,8 +1,5 @@
 package net.lucode.hackware.magicindicator;
 
-import android.util.SparseArray;
-import android.util.SparseBooleanArray;
-
 /**
  * 方便扩展IPagerNavigator的帮助类，将ViewPager的3个回调方法转换成
  * onSelected、onDeselected、onEnter等回调，方便扩展
@@ -10,8 +7,13 @@ import android.util.SparseBooleanArray;
  * Created by hackware on 2016/6/26.
  */
 public class NavigatorHelper {
-    private SparseBooleanArray mDeselectedItems = new SparseBooleanArray();
-    private SparseArray<Float> mLeavedPercents = new SparseArray<Float>();
+    // ViewPager回调中的nextPosition可能为-1或totalCount，因此多保留首尾两个位置，下标整体偏移1
+    private TabStateStore mLeavedPercents = new TabStateStore(0.0f);
+
+    // 只记录状态尚未复位的title，分发时只遍历它们，每帧的开销与title总数无关
+    private SortedIndexSet mUnleavedItems = new SortedIndexSet();   // 离开百分比不为1.0f的title
+    private SortedIndexSet mSelectedItems = new SortedIndexSet();   // 尚未分发onDeselected的title
+    private int[] mDispatchBuffer = new int[16];
 
     private int mTotalCount;
     private int mCurrentIndex;
@@ -43,13 +45,16 @@ public class NavigatorHelper {
                 }
             }
             // 分发离开状态，这里的分发控制的是非当前位置和下一个位置的其他位置
-            for (int i = 0; i < mTotalCount; i++) {
+            int count = mUnleavedItems.size();
+            int[] items = obtainDispatchBuffer(count);
+            mUnleavedItems.copyTo(items);
+            for (int k = 0; k < count; k++) {
+                int i = items[k];
                 // 如果是当前 位置 或者是 下一个位置，则跳过当前循环
                 if (i == position || i == nextPosition) {
                     continue;
                 }
-                Float leavedPercent = mLeavedPercents.get(i, 0.0f);
-                if (leavedPercent != 1.0f) {
+                if (mUnleavedItems.contains(i)) {
                     dispatchOnLeave(i, 1.0f, leftToRight, true);
                 }
             }
@@ -67,16 +72,17 @@ public class NavigatorHelper {
                 dispatchOnEnter(position, 1.0f - positionOffset, true, false);
             }
         } else { // state == 0 , 滑动停止了， 其时的mCurrentIndextion 是滑动到的当前位置
-            for (int i = 0; i < mTotalCount; i++) {
+            int[] items = obtainDispatchBuffer(mSelectedItems.size() + mUnleavedItems.size());
+            int count = SortedIndexSet.union(mSelectedItems, mUnleavedItems, items);
+            for (int k = 0; k < count; k++) {
+                int i = items[k];
                 if (i == mCurrentIndex) {
                     continue;
                 }
-                boolean deselected = mDeselectedItems.get(i);
-                if (!deselected) { //分发没有选择
+                if (mSelectedItems.contains(i)) { //分发没有选择
                     dispatchOnDeselected(i);
                 }
-                Float leavedPercent = mLeavedPercents.get(i, 0.0f);
-                if (leavedPercent != 1.0f) { // 分发离开 离开状态 为 1.0f
+                if (mUnleavedItems.contains(i)) { // 分发离开 离开状态 为 1.0f
                     dispatchOnLeave(i, 1.0f, false, true);
                 }
             }
@@ -93,16 +99,16 @@ public class NavigatorHelper {
             if (mNavigatorScrollListener != null) {
                 mNavigatorScrollListener.onEnter(index, mTotalCount, enterPercent, leftToRight);
             }
-            mLeavedPercents.put(index, 1.0f - enterPercent);
+            putLeavedPercent(index, 1.0f - enterPercent);
         }
     }
 
     private void dispatchOnLeave(int index, float leavePercent, boolean leftToRight, boolean force) {
-        if (mSkimOver || index == mLastIndex || mScrollState == ScrollState.SCROLL_STATE_DRAGGING || ((index == mCurrentIndex - 1 || index == mCurrentIndex + 1) && mLeavedPercents.get(index, 0.0f) != 1.0f) || force) {
+        if (mSkimOver || index == mLastIndex || mScrollState == ScrollState.SCROLL_STATE_DRAGGING || ((index == mCurrentIndex - 1 || index == mCurrentIndex + 1) && getLeavedPercent(index) != 1.0f) || force) {
             if (mNavigatorScrollListener != null) {
                 mNavigatorScrollListener.onLeave(index, mTotalCount, leavePercent, leftToRight);
             }
-            mLeavedPercents.put(index, leavePercent);
+            putLeavedPercent(index, leavePercent);
         }
     }
 
@@ -110,26 +116,53 @@ public class NavigatorHelper {
         if (mNavigatorScrollListener != null) {
             mNavigatorScrollListener.onSelected(index, mTotalCount);
         }
-        mDeselectedItems.put(index, false);
+        if (index >= 0 && index < mTotalCount) {
+            mSelectedItems.add(index);
+        }
     }
 
     private void dispatchOnDeselected(int index) {
         if (mNavigatorScrollListener != null) {
             mNavigatorScrollListener.onDeselected(index, mTotalCount);
         }
-        mDeselectedItems.put(index, true);
+        mSelectedItems.remove(index);
+    }
+
+    private float getLeavedPercent(int index) {
+        return mLeavedPercents.get(index + 1);
+    }
+
+    private void putLeavedPercent(int index, float leavedPercent) {
+        mLeavedPercents.put(index + 1, leavedPercent);
+        if (index >= 0 && index < mTotalCount) {
+            if (leavedPercent != 1.0f) {
+                mUnleavedItems.add(index);
+            } else {
+                mUnleavedItems.remove(index);
+            }
+        }
+    }
+
+    private int[] obtainDispatchBuffer(int size) {
+        if (mDispatchBuffer.length < size) {
+            mDispatchBuffer = new int[Math.max(size, mDispatchBuffer.length * 2)];
+        }
+        return mDispatchBuffer;
     }
 
     public void onPageSelected(int position) {
         mLastIndex = mCurrentIndex;
         mCurrentIndex = position;
         dispatchOnSelected(mCurrentIndex);
-        for (int i = 0; i < mTotalCount; i++) {
+        int count = mSelectedItems.size();
+        int[] items = obtainDispatchBuffer(count);
+        mSelectedItems.copyTo(items);
+        for (int k = 0; k < count; k++) {
+            int i = items[k];
             if (i == mCurrentIndex) {
                 continue;
             }
-            boolean deselected = mDeselectedItems.get(i);
-            if (!deselected) {
+            if (mSelectedItems.contains(i)) {
                 dispatchOnDeselected(i);
             }
         }
@@ -139,6 +172,20 @@ public class NavigatorHelper {
         mScrollState = state;
     }
 
+    /**
+     * 按当前页和最近一次滚动的位置重新分发所有title的状态，用于setTotalCount()重置状态后恢复，
+     * 滚动中也可以调用，与onPageScrolled不同，位置没有变化时也会分发
+     */
+    public void restoreState() {
+        int lastIndex = mLastIndex;
+        onPageSelected(mCurrentIndex);
+        mLastIndex = lastIndex;
+        float positionOffsetSum = mLastPositionOffsetSum;
+        int position = (int) Math.floor(positionOffsetSum);
+        mLastPositionOffsetSum = Float.NaN; // 使位置相同时不被跳过
+        onPageScrolled(position, positionOffsetSum - position, 0);
+    }
+
     public void setNavigatorScrollListener(NavigatorHelper.OnNavigatorScrollListener navigatorScrollListener) {
         mNavigatorScrollListener = navigatorScrollListener;
     }
@@ -153,8 +200,10 @@ public class NavigatorHelper {
 
     public void setTotalCount(int totalCount) {
         mTotalCount = totalCount;
-        mDeselectedItems.clear();
-        mLeavedPercents.clear();
+        mLeavedPercents.setCount(totalCount + 2);
+        // 初始状态下所有title都未选中、离开百分比为0，均需要在第一次分发时复位
+        mSelectedItems.fill(totalCount);
+        mUnleavedItems.fill(totalCount);
     }
 
     public int getCurrentIndex() {
@@ -165,6 +214,15 @@ public class NavigatorHelper {
         return mScrollState;
     }
 
+    /**
+     * 获取title当前的离开百分比，可用于重新绑定的title恢复状态
+     *
+     * @return 0.0f - 1.0f, 1.0f表示已完全离开
+     */
+    public float getLeavePercent(int index) {
+        return getLeavedPercent(index);
+    }
+
     public interface OnNavigatorScrollListener {
         void onEnter(int index, int totalCount, float enterPercent, boolean leftToRight);
 
@@ -0,0 +1,104 @@
+package net.lucode.hackware.magicindicator;
+
+import java.util.Arrays;
+
+/**
+ * 升序排列、不重复的title下标集合，供NavigatorHelper记录"状态尚未复位"的title，
+ * 使每帧的分发只与状态发生变化的title数量相关，与title总数无关
+ */
+final class SortedIndexSet {
+    private int[] mItems = new int[16];
+    private int mSize;
+
+    /**
+     * 重置为 0 ~ count - 1 的全集
+     */
+    void fill(int count) {
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            mItems[i] = i;
+        }
+        mSize = count;
+    }
+
+    void clear() {
+        mSize = 0;
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    int get(int i) {
+        return mItems[i];
+    }
+
+    boolean contains(int index) {
+        return Arrays.binarySearch(mItems, 0, mSize, index) >= 0;
+    }
+
+    void add(int index) {
+        int i = Arrays.binarySearch(mItems, 0, mSize, index);
+        if (i >= 0) {
+            return;
+        }
+        i = -i - 1;
+        ensureCapacity(mSize + 1);
+        System.arraycopy(mItems, i, mItems, i + 1, mSize - i);
+        mItems[i] = index;
+        mSize++;
+    }
+
+    void remove(int index) {
+        int i = Arrays.binarySearch(mItems, 0, mSize, index);
+        if (i < 0) {
+            return;
+        }
+        System.arraycopy(mItems, i + 1, mItems, i, mSize - i - 1);
+        mSize--;
+    }
+
+    /**
+     * 将当前集合拷贝到dest中，分发过程中集合会被修改，因此需要先拷贝一份，dest的长度不能小于size()
+     */
+    void copyTo(int[] dest) {
+        System.arraycopy(mItems, 0, dest, 0, mSize);
+    }
+
+    /**
+     * 将a、b两个集合的并集按升序写入dest，dest的长度不能小于a.size() + b.size()
+     *
+     * @return 并集的大小
+     */
+    static int union(SortedIndexSet a, SortedIndexSet b, int[] dest) {
+        int i = 0, j = 0, k = 0;
+        while (i < a.mSize && j < b.mSize) {
+            int x = a.mItems[i];
+            int y = b.mItems[j];
+            if (x < y) {
+                dest[k++] = x;
+                i++;
+            } else if (x > y) {
+                dest[k++] = y;
+                j++;
+            } else {
+                dest[k++] = x;
+                i++;
+                j++;
+            }
+        }
+        while (i < a.mSize) {
+            dest[k++] = a.mItems[i++];
+        }
+        while (j < b.mSize) {
+            dest[k++] = b.mItems[j++];
+        }
+        return k;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (mItems.length < capacity) {
+            mItems = Arrays.copyOf(mItems, Math.max(capacity, mItems.length * 2));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package net.lucode.hackware.magicindicator;
+
+import java.util.Arrays;
+
+/**
+ * 基于基本类型数组的title状态存储，每个下标对应一个float值和一个boolean标记，
+ * 替代SparseArray&lt;Float&gt;、SparseBooleanArray，读写过程中不会产生装箱和内存分配，
+ * 适合在onPageScrolled等高频回调中使用
+ */
+public class TabStateStore {
+    private float[] mValues = new float[0];
+    private long[] mFlags = new long[0];
+    private int mCount;
+    private float mDefaultValue;
+
+    public TabStateStore() {
+    }
+
+    public TabStateStore(float defaultValue) {
+        mDefaultValue = defaultValue;
+    }
+
+    /**
+     * 设置title数量并将所有状态复位，只有容量不足时才会重新分配数组
+     */
+    public void setCount(int count) {
+        if (mValues.length < count) {
+            mValues = new float[count];
+            mFlags = new long[(count + 63) >> 6];
+        }
+        mCount = count;
+        clear();
+    }
+
+    public int getCount() {
+        return mCount;
+    }
+
+    /**
+     * 将所有值复位为默认值，清除所有标记
+     */
+    public void clear() {
+        Arrays.fill(mValues, 0, mCount, mDefaultValue);
+        Arrays.fill(mFlags, 0);
+    }
+
+    /**
+     * @return 越界时返回默认值
+     */
+    public float get(int index) {
+        if (index < 0 || index >= mCount) {
+            return mDefaultValue;
+        }
+        return mValues[index];
+    }
+
+    /**
+     * 越界的写入会被忽略
+     */
+    public void put(int index, float value) {
+        if (index < 0 || index >= mCount) {
+            return;
+        }
+        mValues[index] = value;
+    }
+
+    public boolean getFlag(int index) {
+        if (index < 0 || index >= mCount) {
+            return false;
+        }
+        return (mFlags[index >> 6] & (1L << index)) != 0;
+    }
+
+    public void setFlag(int index, boolean flag) {
+        if (index < 0 || index >= mCount) {
+            return;
+        }
+        if (flag) {
+            mFlags[index >> 6] |= 1L << index;
+        } else {
+            mFlags[index >> 6] &= ~(1L << index);
+        }
+    }
+
+    public float getDefaultValue() {
+        return mDefaultValue;
+    }
+
+    /**
+     * 修改默认值，越界读取立即生效，数组中的值在下次clear()或setCount()后生效
+     */
+    public void setDefaultValue(float defaultValue) {
+        mDefaultValue = defaultValue;
+    }
+}
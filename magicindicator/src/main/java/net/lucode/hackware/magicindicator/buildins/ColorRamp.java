@@ -0,0 +1,103 @@
+package net.lucode.hackware.magicindicator.buildins;
+
+
+/**
+ * 预先计算好的两个颜色之间的256级渐变表，每帧只需一次查表，适合在onPageScrolled中频繁求值
+ * 可选在线性空间中插值(gamma校正)，使渐变中间色不发灰
+ */
+public class ColorRamp {
+    public static final int MODE_NONE = 0;  // 不使用渐变表，直接使用ArgbEvaluatorHolder
+    public static final int MODE_LINEAR = 1;    // 使用渐变表，与ArgbEvaluatorHolder一致，在sRGB空间中插值
+    public static final int MODE_GAMMA = 2; // 使用渐变表，在线性空间中插值
+
+    private static final int STEPS = 256;
+    private static final double GAMMA = 2.2;
+
+    private static float[] sToLinear;   // sRGB分量 -> 线性分量，按需初始化
+
+    private final int[] mColors = new int[STEPS];
+    private final int mStartColor;
+    private final int mEndColor;
+    private final boolean mGammaCorrect;
+
+    public ColorRamp(int startColor, int endColor) {
+        this(startColor, endColor, false);
+    }
+
+    public ColorRamp(int startColor, int endColor, boolean gammaCorrect) {
+        mStartColor = startColor;
+        mEndColor = endColor;
+        mGammaCorrect = gammaCorrect;
+        for (int i = 0; i < STEPS; i++) {
+            float fraction = i / (float) (STEPS - 1);
+            mColors[i] = gammaCorrect ? evalLinear(fraction, startColor, endColor) : ArgbEvaluatorHolder.eval(fraction, startColor, endColor);
+        }
+    }
+
+    /**
+     * 复用已有的渐变表，颜色或模式不同时才重新创建
+     *
+     * @param ramp 可以为null
+     */
+    public static ColorRamp obtain(ColorRamp ramp, int startColor, int endColor, boolean gammaCorrect) {
+        if (ramp != null && ramp.mStartColor == startColor && ramp.mEndColor == endColor && ramp.mGammaCorrect == gammaCorrect) {
+            return ramp;
+        }
+        return new ColorRamp(startColor, endColor, gammaCorrect);
+    }
+
+    /**
+     * @param fraction 0.0f - 1.0f，越界时取两端的颜色
+     */
+    public int eval(float fraction) {
+        int index = (int) (fraction * (STEPS - 1) + 0.5f);
+        if (index < 0) {
+            index = 0;
+        } else if (index > STEPS - 1) {
+            index = STEPS - 1;
+        }
+        return mColors[index];
+    }
+
+    public int getStartColor() {
+        return mStartColor;
+    }
+
+    public int getEndColor() {
+        return mEndColor;
+    }
+
+    public boolean isGammaCorrect() {
+        return mGammaCorrect;
+    }
+
+    private static int evalLinear(float fraction, int startValue, int endValue) {
+        float[] toLinear = getToLinearTable();
+        int startA = (startValue >> 24) & 0xff;
+        int endA = (endValue >> 24) & 0xff;
+        int currentA = startA + (int) (fraction * (endA - startA));
+        int currentR = toSRGB(mix(toLinear[(startValue >> 16) & 0xff], toLinear[(endValue >> 16) & 0xff], fraction));
+        int currentG = toSRGB(mix(toLinear[(startValue >> 8) & 0xff], toLinear[(endValue >> 8) & 0xff], fraction));
+        int currentB = toSRGB(mix(toLinear[startValue & 0xff], toLinear[endValue & 0xff], fraction));
+        return (currentA << 24) | (currentR << 16) | (currentG << 8) | currentB;
+    }
+
+    private static float mix(float start, float end, float fraction) {
+        return start + (end - start) * fraction;
+    }
+
+    private static int toSRGB(float linear) {
+        return (int) (Math.pow(linear, 1.0 / GAMMA) * 255 + 0.5);
+    }
+
+    private static float[] getToLinearTable() {
+        if (sToLinear == null) {
+            float[] table = new float[256];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (float) Math.pow(i / 255.0, GAMMA);
+            }
+            sToLinear = table;
+        }
+        return sToLinear;
+    }
+}
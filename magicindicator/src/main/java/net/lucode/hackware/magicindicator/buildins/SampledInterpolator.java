@@ -0,0 +1,73 @@
+package net.lucode.hackware.magicindicator.buildins;
+
+import android.view.animation.BounceInterpolator;
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
+
+
+/**
+ * 预先采样的插值器，创建时将原插值器在0.0f - 1.0f上等距采样，之后每次求值只需查表和一次线性插值，
+ * 避免AccelerateInterpolator等在每帧中调用Math.pow、Math.cos
+ * 默认256个采样区间(257个采样点)，对于二阶导数绝对值不超过k的曲线，误差不超过k / 524288:
+ * 默认参数的Accelerate/DecelerateInterpolator约4e-6，AccelerateDecelerateInterpolator约1e-5，
+ * factor为2的Accelerate/DecelerateInterpolator及默认参数的Anticipate/OvershootInterpolator约2.3e-5 - 2.7e-5
+ * BounceInterpolator的一阶导数不连续，拐点附近误差可达9e-3，of()不对其采样
+ * 输入超出0.0f - 1.0f时直接使用原插值器，采样后原插值器的状态变化不会反映到结果中
+ */
+public class SampledInterpolator implements Interpolator {
+    private static final int DEFAULT_SAMPLE_COUNT = 256;
+
+    private final Interpolator mSource;
+    private final float[] mSamples;
+
+    public SampledInterpolator(Interpolator source) {
+        this(source, DEFAULT_SAMPLE_COUNT);
+    }
+
+    /**
+     * @param sampleCount 采样区间的数量，采样点为sampleCount + 1个
+     */
+    public SampledInterpolator(Interpolator source, int sampleCount) {
+        if (source == null) {
+            throw new IllegalArgumentException("source interpolator must not be null.");
+        }
+        if (sampleCount < 1) {
+            throw new IllegalArgumentException("sampleCount must be positive.");
+        }
+        mSource = source;
+        mSamples = new float[sampleCount + 1];
+        for (int i = 0; i <= sampleCount; i++) {
+            mSamples[i] = source.getInterpolation(i / (float) sampleCount);
+        }
+    }
+
+    /**
+     * 为插值器创建采样版本，null、LinearInterpolator、BounceInterpolator及已采样的插值器原样返回
+     */
+    public static Interpolator of(Interpolator interpolator) {
+        if (interpolator == null || interpolator instanceof LinearInterpolator || interpolator instanceof BounceInterpolator
+                || interpolator instanceof SampledInterpolator) {
+            return interpolator;
+        }
+        return new SampledInterpolator(interpolator);
+    }
+
+    public Interpolator getSource() {
+        return mSource;
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        if (input < 0.0f || input > 1.0f) {
+            return mSource.getInterpolation(input);
+        }
+        int last = mSamples.length - 1;
+        float position = input * last;
+        int index = (int) position;
+        if (index >= last) {
+            return mSamples[last];
+        }
+        float fraction = position - index;
+        return mSamples[index] + (mSamples[index + 1] - mSamples[index]) * fraction;
+    }
+}
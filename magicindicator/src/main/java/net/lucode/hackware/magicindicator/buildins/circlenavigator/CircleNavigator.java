@@ -11,6 +11,7 @@ import android.view.animation.Interpolator;
 import android.view.animation.LinearInterpolator;
 
 import net.lucode.hackware.magicindicator.abs.IPagerNavigator;
+import net.lucode.hackware.magicindicator.buildins.SampledInterpolator;
 import net.lucode.hackware.magicindicator.buildins.UIUtil;
 
 import java.util.ArrayList;
@@ -29,6 +30,7 @@ public class CircleNavigator extends View implements IPagerNavigator {
     private int mCurrentIndex;
     private int mTotalCount;
     private Interpolator mStartInterpolator = new LinearInterpolator();
+    private Interpolator mSampledStartInterpolator = mStartInterpolator;  // 每帧求值时使用的采样版本，getter返回设置的原插值器
 
     private Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
     private List<PointF> mCirclePoints = new ArrayList<PointF>();
@@ -146,7 +148,7 @@ public class CircleNavigator extends View implements IPagerNavigator {
             PointF current = mCirclePoints.get(currentPosition);
             PointF next = mCirclePoints.get(nextPosition);
 
-            mIndicatorX = current.x + (next.x - current.x) * mStartInterpolator.getInterpolation(positionOffset);
+            mIndicatorX = current.x + (next.x - current.x) * mSampledStartInterpolator.getInterpolation(positionOffset);
 
             invalidate();
         }
@@ -266,6 +268,7 @@ public class CircleNavigator extends View implements IPagerNavigator {
         if (mStartInterpolator == null) {
             mStartInterpolator = new LinearInterpolator();
         }
+        mSampledStartInterpolator = SampledInterpolator.of(mStartInterpolator);
     }
 
     public int getCircleCount() {
@@ -1,26 +1,36 @@
 package net.lucode.hackware.magicindicator.buildins.commonnavigator;
 
 import android.content.Context;
-import android.database.DataSetObserver;
-import android.view.LayoutInflater;
+import android.graphics.Paint;
+import android.support.v4.view.ViewCompat;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.ViewTreeObserver;
 import android.widget.FrameLayout;
 import android.widget.HorizontalScrollView;
 import android.widget.LinearLayout;
+import android.widget.TextView;
 
+import net.lucode.hackware.magicindicator.FrameTracer;
+import net.lucode.hackware.magicindicator.MagicIndicator;
 import net.lucode.hackware.magicindicator.NavigatorHelper;
 import net.lucode.hackware.magicindicator.R;
 import net.lucode.hackware.magicindicator.ScrollState;
 import net.lucode.hackware.magicindicator.abs.IPagerNavigator;
 import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.CommonNavigatorAdapter;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.CommonNavigatorDataSetObserver;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IIncrementalPagerIndicator;
 import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IMeasurablePagerTitleView;
 import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerIndicator;
 import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerTitleView;
 import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionData;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.titles.TextMeasureCache;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 通用的ViewPager指示器，包含PagerTitle和PagerIndicator
@@ -28,9 +38,9 @@ import java.util.List;
  * Created by hackware on 2016/6/26.
  */
 public class CommonNavigator extends FrameLayout implements IPagerNavigator, NavigatorHelper.OnNavigatorScrollListener {
-    private HorizontalScrollView mScrollView;
-    private LinearLayout mTitleContainer;
-    private LinearLayout mIndicatorContainer;
+    private HorizontalScrollView mScrollView;   // mAdjustMode为true时为null
+    private HorizontalScrollView mReusableScrollView;   // 只创建一次，mAdjustMode为false时才会使用
+    private TitleContainer mTitleContainer; // title和indicator的父布局，只创建一次
     private IPagerIndicator mIndicator;
 
     private CommonNavigatorAdapter mAdapter;
@@ -50,16 +60,71 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
     private boolean mIndicatorOnTop;    // 指示器是否在title上层，默认为下层
     private boolean mSkimOver;  // 跨多页切换时，中间页是否显示 "掠过" 效果
     private boolean mReselectWhenLayout = true; // PositionData准备好时，是否重新选中当前页，为true可保证在极端情况下指示器状态正确
+    private boolean mVirtualMode;   // 虚拟化模式，只创建可见区域附近的title，适用于数目很多的title，mAdjustMode为true时无效
+    private boolean mIncrementalInit;   // 分帧创建title，先创建当前页附近的title，其余在之后的帧中创建，虚拟化模式下无效
+    private int mIncrementalInitBudget = 4; // 分帧创建时每帧用于创建title和随后measure、layout的时间(毫秒)
+    private Executor mPreMeasureExecutor;   // 不为null时在该线程池中预先测量title文字
+    private Paint mPreMeasurePaint; // 预测量使用的文字样式，从title中获取时在第一个title创建前为null
+    private boolean mPreMeasurePaintFromTitle;
+    private boolean mTitleLayerCache;   // 滚动时将可见区域内不在切换中的title缓存到硬件层，只有进入、离开中的title重新绘制
     /****************************************************/
 
     // 保存每个title的位置信息，为扩展indicator提供保障，核心
     private List<PositionData> mPositionDataList = new ArrayList<PositionData>();
+    private boolean mPositionDataInvalid = true;    // 为true时下次layout重新采集所有title的坐标
+    private int mChangedFromIndex;  // 最近一次采集中坐标发生变化的区间
+    private int mChangedToIndex;
+    private int mInvalidFromIndex = Integer.MAX_VALUE;  // 局部更新影响的区间，下次layout时无论坐标是否变化都通知indicator
+    private int mInvalidToIndex = -1;
+    private boolean mItemCountChanged;  // 当前的局部更新是否改变了title数量
 
-    private DataSetObserver mObserver = new DataSetObserver() {
+    // 虚拟化模式下已创建的title区间，mTitleContainer中第i个子View对应下标为mFirstVirtualIndex + i的title
+    private int mFirstVirtualIndex;
+    private int mLastVirtualIndex = -1;
+    private TitleViewPool mTitleViewPool = new TitleViewPool();
+
+    // 分帧创建时尚未创建的title区间，从当前页向两侧扩展，[0, mPendingLeft]和[mPendingRight, totalCount)为占位View
+    private boolean mTitlesPending;
+    private int mPendingCenter;
+    private int mPendingLeft;
+    private int mPendingRight;
+    private boolean mTimePendingLayout; // 分帧创建title后的下一次measure、layout是否计时
+    private long mPendingLayoutNanos;   // 上一帧创建title后measure、layout的耗时，从下一帧的时间预算中扣除
+
+    private boolean mTitleLayersActive; // 当前是否处于滚动中、已为title开启硬件层
+    // 滚动中与可见区域相交的title区间，只有区间内的title会开启硬件层
+    private int mLayerFirstIndex;
+    private int mLayerLastIndex = -1;
+
+    private Runnable mCreatePendingTitlesRunnable = new Runnable() {
+        @Override
+        public void run() {
+            createPendingTitles(true);
+            if (mTitlesPending) {
+                ViewCompat.postOnAnimation(CommonNavigator.this, this);
+            }
+        }
+    };
+
+    private ViewTreeObserver.OnScrollChangedListener mScrollChangedListener = new ViewTreeObserver.OnScrollChangedListener() {
+
+        @Override
+        public void onScrollChanged() {
+            if (isVirtual() && mAdapter != null && !mPositionDataInvalid) {
+                updateVirtualWindow();
+            }
+            if (mTitleLayersActive && mAdapter != null && !mPositionDataInvalid) {
+                updateLayerWindow();
+            }
+        }
+    };
+
+    private CommonNavigatorDataSetObserver mObserver = new CommonNavigatorDataSetObserver() {
 
         @Override
         public void onChanged() {
             mNavigatorHelper.setTotalCount(mAdapter.getCount());    // 如果使用helper，应始终保证helper中的totalCount为最新
+            preMeasureTitles(0, mAdapter.getCount());
             init();
         }
 
@@ -67,6 +132,52 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
         public void onInvalidated() {
             // 没什么用，暂不做处理
         }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            preMeasureTitles(positionStart, itemCount);
+            if (beginItemUpdate()) {
+                for (int i = positionStart; i < positionStart + itemCount; i++) {
+                    replaceTitle(i);
+                }
+                endItemUpdate(positionStart, positionStart + itemCount - 1);
+            }
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            preMeasureTitles(positionStart, itemCount);
+            if (beginItemUpdate()) {
+                if (!isVirtual()) {
+                    for (int i = positionStart; i < positionStart + itemCount; i++) {
+                        mTitleContainer.addView(createTitle(i), i, generateTitleLayoutParams(i));
+                    }
+                }
+                endItemUpdate(positionStart, Integer.MAX_VALUE);    // 之后的title下标都发生了变化
+            }
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            if (beginItemUpdate()) {
+                if (!isVirtual()) {
+                    mTitleContainer.removeViews(positionStart, itemCount);
+                }
+                endItemUpdate(positionStart, Integer.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onItemMoved(int fromPosition, int toPosition) {
+            if (beginItemUpdate()) {
+                if (!isVirtual()) {
+                    View v = mTitleContainer.getChildAt(fromPosition);
+                    mTitleContainer.removeViewAt(fromPosition);
+                    mTitleContainer.addView(v, toPosition);
+                }
+                endItemUpdate(Math.min(fromPosition, toPosition), Math.max(fromPosition, toPosition));
+            }
+        }
     };
 
     public CommonNavigator(Context context) {
@@ -105,6 +216,7 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
         if (mAdapter != null) {
             mAdapter.registerDataSetObserver(mObserver);
             mNavigatorHelper.setTotalCount(mAdapter.getCount());
+            preMeasureTitles(0, mAdapter.getCount());   // 尽早开始，使第一次layout时命中测量结果
             if (mTitleContainer != null) {  // adapter改变时，应该重新init，但是第一次设置adapter不用，onAttachToMagicIndicator中有init
                 mAdapter.notifyDataSetChanged();
             }
@@ -114,25 +226,82 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
         }
     }
 
+    /**
+     * 在主线程取出title文字，交给后台线程测量，结果保存在TextMeasureCache中，
+     * title测量时若结果尚未准备好，仍会在主线程同步测量
+     */
+    private void preMeasureTitles(int positionStart, int itemCount) {
+        if (mPreMeasureExecutor == null || mPreMeasurePaint == null || mAdapter == null) {
+            return;
+        }
+        List<String> texts = new ArrayList<String>();
+        for (int i = positionStart; i < positionStart + itemCount; i++) {
+            CharSequence text = mAdapter.getTitleText(i);
+            if (text != null) {
+                texts.add(text.toString());
+            }
+        }
+        if (texts.isEmpty()) {
+            return;
+        }
+        try {
+            mPreMeasureExecutor.execute(new PreMeasureTask(new Paint(mPreMeasurePaint), texts));
+        } catch (RejectedExecutionException e) {
+            // 线程池已关闭或已满，退回到同步测量
+        }
+    }
+
+    /**
+     * 预测量的文字样式从title中获取时，使用第一个创建的TextView类型title的Paint，之后预测量所有title
+     */
+    private void obtainPreMeasurePaint(IPagerTitleView titleView) {
+        if (!mPreMeasurePaintFromTitle || mPreMeasurePaint != null || !(titleView instanceof TextView)) {
+            return;
+        }
+        mPreMeasurePaint = new Paint(((TextView) titleView).getPaint());
+        preMeasureTitles(0, mAdapter.getCount());
+    }
+
     private void init() {
         removeAllViews();
+        mPositionDataInvalid = true;
+        mFirstVirtualIndex = 0;
+        mLastVirtualIndex = -1;
+        mTitleViewPool.clear();
+        mTitlesPending = false;
+        mTimePendingLayout = false;
+        mPendingLayoutNanos = 0;
+        removeCallbacks(mCreatePendingTitlesRunnable);
+        mTitleLayersActive = false;
+        mLayerFirstIndex = 0;
+        mLayerLastIndex = -1;
 
-        View root;
-        if (mAdjustMode) {
-            root = LayoutInflater.from(getContext()).inflate(R.layout.pager_navigator_layout_no_scroll, this);
+        if (mTitleContainer == null) {
+            mTitleContainer = new TitleContainer(getContext());
+            mTitleContainer.setId(R.id.title_container);
         } else {
-            root = LayoutInflater.from(getContext()).inflate(R.layout.pager_navigator_layout, this);
+            mTitleContainer.removeAllViews();
+        }
+        if (mReusableScrollView != null) {
+            mReusableScrollView.removeAllViews();
         }
-
-        mScrollView = (HorizontalScrollView) root.findViewById(R.id.scroll_view);   //
-        // mAdjustMode为true时，mScrollView为null
-        // title包裹者  父布局
-        mTitleContainer = (LinearLayout) root.findViewById(R.id.title_container);
         mTitleContainer.setPadding(mLeftPadding, 0, mRightPadding, 0);
-        // indicator包裹着  父布局
-        mIndicatorContainer = (LinearLayout) root.findViewById(R.id.indicator_container);
-        if (mIndicatorOnTop) {
-            mIndicatorContainer.getParent().bringChildToFront(mIndicatorContainer);
+        mTitleContainer.setVirtualWidth(isVirtual() ? mLeftPadding + mRightPadding : -1);
+        mTitleContainer.setVirtualOffset(mLeftPadding);
+        mTitleContainer.setIndicatorOnTop(mIndicatorOnTop);
+        if (mAdjustMode) {
+            mScrollView = null;
+            addView(mTitleContainer, new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+        } else {
+            if (mReusableScrollView == null) {
+                mReusableScrollView = new HorizontalScrollView(getContext());
+                mReusableScrollView.setId(R.id.scroll_view);
+                mReusableScrollView.setHorizontalScrollBarEnabled(false);
+                mReusableScrollView.setHorizontalFadingEdgeEnabled(false);
+            }
+            mScrollView = mReusableScrollView;
+            mScrollView.addView(mTitleContainer, new LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.MATCH_PARENT));
+            addView(mScrollView, new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
         }
 
         initTitlesAndIndicator();
@@ -142,92 +311,565 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
      * 初始化title和indicator
      */
     private void initTitlesAndIndicator() {
-        for (int i = 0, j = mNavigatorHelper.getTotalCount(); i < j; i++) {
+        if (mIncrementalInit && !isVirtual() && mAdapter != null) {
+            initPendingTitles();
+        }
+        // 虚拟化模式下title在layout时按可见区域创建
+        for (int i = 0, j = isVirtual() || mTitlesPending ? 0 : mNavigatorHelper.getTotalCount(); i < j; i++) {
             // 获取单个title
             IPagerTitleView v = mAdapter.getTitleView(getContext(), i);
+            obtainPreMeasurePaint(v);
             if (v instanceof View) {
-                View view = (View) v;
-                LinearLayout.LayoutParams lp;
-                if (mAdjustMode) { // 如果是自适应，即在LinearLayout中
-                    lp = new LinearLayout.LayoutParams(0, ViewGroup.LayoutParams.MATCH_PARENT);
-                    lp.weight = mAdapter.getTitleWeight(getContext(), i);
-                } else { // 可以滑动，HorizontalScrollView
-                    lp = new LinearLayout.LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.MATCH_PARENT);
-                }
-                mTitleContainer.addView(view, lp);
+                mTitleContainer.addView((View) v, generateTitleLayoutParams(i));
             }
         }
         if (mAdapter != null) {
             // 添加indicator
             mIndicator = mAdapter.getIndicator(getContext());
             if (mIndicator instanceof View) {
-                LayoutParams lp = new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams
-                        .MATCH_PARENT);
-                mIndicatorContainer.addView((View) mIndicator, lp);
+                mTitleContainer.setIndicatorView((View) mIndicator);
+            }
+        }
+    }
+
+    /**
+     * 用占位View填充所有title的位置，在时间预算内从当前页开始创建一部分title，
+     * 再用已创建title的平均宽度作为占位View的宽度，剩余title在之后的帧中创建
+     */
+    private void initPendingTitles() {
+        int totalCount = mNavigatorHelper.getTotalCount();
+        if (totalCount == 0) {
+            return;
+        }
+        for (int i = 0; i < totalCount; i++) {
+            mTitleContainer.addView(new TitlePlaceholder(getContext(), 0), generateTitleLayoutParams(i));
+        }
+        mPendingCenter = Math.max(0, Math.min(totalCount - 1, mNavigatorHelper.getCurrentIndex()));
+        mPendingLeft = mPendingCenter - 1;
+        mPendingRight = mPendingCenter;
+        mTitlesPending = true;
+        createPendingTitles(false); // 与一次性创建时一样，由第一次layout后的重新选中分发状态
+
+        int widthMeasureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        int heightMeasureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        int totalWidth = 0;
+        for (int i = mPendingLeft + 1; i < mPendingRight; i++) {
+            View v = mTitleContainer.getChildAt(i);
+            v.measure(widthMeasureSpec, heightMeasureSpec);
+            totalWidth += v.getMeasuredWidth();
+        }
+        int estimatedWidth = totalWidth / (mPendingRight - mPendingLeft - 1);
+        for (int i = 0; i < totalCount; i++) {
+            View v = mTitleContainer.getChildAt(i);
+            if (v instanceof TitlePlaceholder) {
+                ((TitlePlaceholder) v).setEstimatedWidth(estimatedWidth);
+            }
+        }
+        if (mTitlesPending) {
+            ViewCompat.postOnAnimation(this, mCreatePendingTitlesRunnable);
+        }
+    }
+
+    /**
+     * 在时间预算内创建尚未创建的title，至少创建一个，离当前页近的优先
+     *
+     * @param restoreState 是否恢复与NavigatorHelper一致的状态
+     */
+    private void createPendingTitles(boolean restoreState) {
+        int totalCount = mNavigatorHelper.getTotalCount();
+        // 替换占位View后的layout会重新采集PositionData、通知indicator，耗时计入同一帧的预算
+        long deadline = System.nanoTime() + mIncrementalInitBudget * 1000000L - mPendingLayoutNanos;
+        mPendingLayoutNanos = 0;
+        mTimePendingLayout = restoreState;
+        do {
+            int index;
+            boolean hasLeft = mPendingLeft >= 0;
+            boolean hasRight = mPendingRight < totalCount;
+            if (hasRight && (!hasLeft || mPendingRight - mPendingCenter <= mPendingCenter - mPendingLeft)) {
+                index = mPendingRight++;
+            } else if (hasLeft) {
+                index = mPendingLeft--;
+            } else {
+                break;
+            }
+            // 不逐个触发requestLayout，本帧创建的title在之后的一次layout中统一布局
+            mTitleContainer.replaceTitleInLayout(index, createTitle(index), generateTitleLayoutParams(index));
+            if (restoreState) {
+                restoreTitleState((IPagerTitleView) mTitleContainer.getChildAt(index), index);
             }
+        } while (System.nanoTime() < deadline);
+        mTitlesPending = mPendingLeft >= 0 || mPendingRight < totalCount;
+        mTitleContainer.requestLayout();
+    }
+
+    private LinearLayout.LayoutParams generateTitleLayoutParams(int index) {
+        LinearLayout.LayoutParams lp;
+        if (mAdjustMode) { // 如果是自适应，即在LinearLayout中
+            lp = new LinearLayout.LayoutParams(0, ViewGroup.LayoutParams.MATCH_PARENT);
+            lp.weight = mAdapter.getTitleWeight(getContext(), index);
+        } else { // 可以滑动，HorizontalScrollView
+            lp = new LinearLayout.LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.MATCH_PARENT);
+        }
+        return lp;
+    }
+
+    private View createTitle(int index) {
+        IPagerTitleView v = mAdapter.getTitleView(getContext(), index);
+        obtainPreMeasurePaint(v);
+        if (!(v instanceof View)) {
+            throw new IllegalStateException("title at " + index + " must be a View when updated partially.");
+        }
+        return (View) v;
+    }
+
+    /**
+     * 局部更新前调用，title数量变化时同步到NavigatorHelper，分帧创建尚未完成时整体重新初始化
+     *
+     * @return 是否需要局部更新title
+     */
+    private boolean beginItemUpdate() {
+        int count = mAdapter.getCount();
+        mItemCountChanged = count != mNavigatorHelper.getTotalCount();
+        if (mItemCountChanged) {
+            mNavigatorHelper.setTotalCount(count);  // 会重置所有title的状态
+        }
+        if (mTitlesPending) {
+            init();
+            return false;
+        }
+        return mTitleContainer != null;
+    }
+
+    /**
+     * 局部更新后调用，虚拟化模式下adapter中的类型可能已发生变化，丢弃所有已创建的title并重新测量
+     * 无论是否在滚动中都立即恢复title的选中、离开状态：title数量变化时NavigatorHelper已被重置，需要重新分发所有title；
+     * 否则只需恢复新创建或移动过的title
+     *
+     * @param fromIndex 内容或位置可能发生变化的title区间，toIndex可以超出title数量
+     */
+    private void endItemUpdate(int fromIndex, int toIndex) {
+        if (mTitleLayersActive) {
+            clearTitleLayers();   // title可能已被替换或移动，下次滚动时按新的位置重新开启
+        }
+        if (isVirtual()) {
+            mTitleContainer.removeAllTitles();
+            mTitleViewPool.clear();
+            mFirstVirtualIndex = 0;
+            mLastVirtualIndex = -1;
+            mPositionDataInvalid = true;
+        }
+        mInvalidFromIndex = Math.min(mInvalidFromIndex, fromIndex);
+        mInvalidToIndex = Math.max(mInvalidToIndex, toIndex);
+        if (mItemCountChanged) {
+            mNavigatorHelper.restoreState();
+        } else {
+            for (int i = fromIndex, j = Math.min(toIndex, mNavigatorHelper.getTotalCount() - 1); i <= j; i++) {
+                View v = getTitleViewAt(i);
+                if (v instanceof IPagerTitleView) {
+                    restoreTitleState((IPagerTitleView) v, i);
+                }
+            }
+        }
+        requestLayout();
+    }
+
+    /**
+     * 重新创建内容变化的title，虚拟化模式下只会在endItemUpdate中统一处理
+     */
+    private void replaceTitle(int index) {
+        if (isVirtual() || index < 0 || index >= mTitleContainer.getChildCount()) {
+            return;
+        }
+        mTitleContainer.removeViewAt(index);
+        mTitleContainer.addView(createTitle(index), index, generateTitleLayoutParams(index));
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        long begin = mTimePendingLayout ? System.nanoTime() : 0;
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        if (mTimePendingLayout) {
+            mPendingLayoutNanos += System.nanoTime() - begin;
         }
     }
 
     @Override
     protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        boolean pendingLayout = mTimePendingLayout;
+        long pendingBegin = pendingLayout ? System.nanoTime() : 0;
         super.onLayout(changed, left, top, right, bottom);
         if (mAdapter != null) {
-            // 初始化title的相关坐标数据
+            boolean fullUpdate = mPositionDataInvalid || mPositionDataList.size() != mNavigatorHelper.getTotalCount();
+            // 初始化title的相关坐标数据，只通知坐标发生变化的区间
+            FrameTracer tracer = getFrameTracer();
+            long begin = tracer != null ? tracer.begin() : 0;
             preparePositionData();
-            if (mIndicator != null) {
+            if (tracer != null) {
+                tracer.end(FrameTracer.SECTION_POSITION_DATA, begin);
+            }
+            // 坐标没有变化时无需通知indicator
+            if (mIndicator != null && mChangedFromIndex <= mChangedToIndex) {
                 // 将采集的坐标数据赋值到Indicator中去
-                mIndicator.onPositionDataProvide(mPositionDataList);
+                if (!fullUpdate && mIndicator instanceof IIncrementalPagerIndicator) {
+                    ((IIncrementalPagerIndicator) mIndicator).onPositionDataChanged(mPositionDataList, mChangedFromIndex, mChangedToIndex);
+                } else {
+                    mIndicator.onPositionDataProvide(mPositionDataList);
+                }
             }
             if (mReselectWhenLayout && mNavigatorHelper.getScrollState() == ScrollState.SCROLL_STATE_IDLE) {
-                onPageSelected(mNavigatorHelper.getCurrentIndex());
+                // 分帧创建的title已经恢复过状态，只需按新的坐标重新定位indicator和滚动位置
+                if (!pendingLayout) {
+                    onPageSelected(mNavigatorHelper.getCurrentIndex());
+                }
                 onPageScrolled(mNavigatorHelper.getCurrentIndex(), 0.0f, 0);
             }
         }
+        if (pendingLayout) {
+            mPendingLayoutNanos += System.nanoTime() - pendingBegin;
+            mTimePendingLayout = false;
+        }
     }
 
     /**
      * 获取title的位置信息，为打造不同的指示器、各种效果提供可能
+     * PositionData对象会被复用，发生变化的区间记录在mChangedFromIndex、mChangedToIndex中
      */
     private void preparePositionData() {
-        mPositionDataList.clear();
-        for (int i = 0, j = mNavigatorHelper.getTotalCount(); i < j; i++) {
-            // 初始化一个PositionData对象
-            PositionData data = new PositionData();
-            View v = mTitleContainer.getChildAt(i);
+        int totalCount = mNavigatorHelper.getTotalCount();
+        if (mPositionDataList.size() != totalCount) {
+            while (mPositionDataList.size() > totalCount) {
+                mPositionDataList.remove(mPositionDataList.size() - 1);
+            }
+            while (mPositionDataList.size() < totalCount) {
+                mPositionDataList.add(new PositionData());
+            }
+            mPositionDataInvalid = true;
+        }
+        mChangedFromIndex = totalCount;
+        mChangedToIndex = -1;
+        if (isVirtual()) {
+            prepareVirtualPositionData();
+        } else {
+            for (int i = 0; i < totalCount; i++) {
+                if (updatePositionData(mPositionDataList.get(i), mTitleContainer.getChildAt(i))) {
+                    markPositionDataChanged(i);
+                }
+            }
+        }
+        // 局部更新影响的区间，例如移动后的title可能与原来的title坐标完全相同
+        int invalidFromIndex = Math.max(0, mInvalidFromIndex);
+        int invalidToIndex = Math.min(totalCount - 1, mInvalidToIndex);
+        if (invalidFromIndex <= invalidToIndex) {
+            markPositionDataChanged(invalidFromIndex);
+            markPositionDataChanged(invalidToIndex);
+        }
+        mInvalidFromIndex = Integer.MAX_VALUE;
+        mInvalidToIndex = -1;
+        mPositionDataInvalid = false;
+    }
+
+    /**
+     * 虚拟化模式下采集所有title的坐标，未创建的title借用回收池中的title测量，
+     * 只有数据改变后才需要测量全部title，其余情况下只根据已创建title的宽度平移其他title的坐标
+     */
+    private void prepareVirtualPositionData() {
+        int height = mTitleContainer.getHeight();
+        int widthMeasureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        int heightMeasureSpec = MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY);
+        int x = mLeftPadding;
+        for (int i = 0, j = mPositionDataList.size(); i < j; i++) {
+            PositionData data = mPositionDataList.get(i);
+            View v = getTitleViewAt(i);
+            boolean scrap = false;
+            if (v == null && mPositionDataInvalid) {
+                v = obtainTitleView(i);
+                v.measure(widthMeasureSpec, heightMeasureSpec);
+                scrap = true;
+            }
             if (v != null) {
-                // 对data赋值
-                // 赋值四个点坐标
-                data.mLeft = v.getLeft();
-                data.mTop = v.getTop();
-                data.mRight = v.getRight();
-                data.mBottom = v.getBottom();
-
-                if (v instanceof IMeasurablePagerTitleView) {
-                    IMeasurablePagerTitleView view = (IMeasurablePagerTitleView) v;
-                    data.mContentLeft = view.getContentLeft();
-                    data.mContentTop = view.getContentTop();
-                    data.mContentRight = view.getContentRight();
-                    data.mContentBottom = view.getContentBottom();
-                } else {
-                    data.mContentLeft = data.mLeft;
-                    data.mContentTop = data.mTop;
-                    data.mContentRight = data.mRight;
-                    data.mContentBottom = data.mBottom;
+                int width = v.getMeasuredWidth();
+                if (v.getLeft() != x || v.getWidth() != width || v.getHeight() != height) {
+                    v.layout(x, 0, x + width, height);
+                }
+                if (updatePositionData(data, v)) {
+                    markPositionDataChanged(i);
                 }
+                if (scrap) {
+                    mTitleViewPool.put(mAdapter.getTitleViewType(i), (IPagerTitleView) v);
+                }
+            } else if (data.mLeft != x) {  // 未创建的title宽度不变，只需平移
+                int offset = x - data.mLeft;
+                data.mLeft += offset;
+                data.mRight += offset;
+                data.mContentLeft += offset;
+                data.mContentRight += offset;
+                markPositionDataChanged(i);
             }
-            mPositionDataList.add(data);
+            x += data.width();
         }
+        mTitleContainer.setVirtualWidth(x + mRightPadding);   // 只有数据改变后总宽度才会变化
+        updateVirtualWindow();
+    }
+
+    private void markPositionDataChanged(int index) {
+        mChangedFromIndex = Math.min(mChangedFromIndex, index);
+        mChangedToIndex = Math.max(mChangedToIndex, index);
+    }
+
+    /**
+     * 根据滚动位置更新已创建的title区间，可见区域左右各多创建半屏的title，
+     * 移出区间的title放入回收池，新进入区间的title从回收池中复用并恢复选中、进入离开状态
+     * 滚动时由OnScrollChangedListener在绘制前调用，增删title不会触发requestLayout，
+     * 新的title直接按PositionData测量、布局，当帧即可正确绘制
+     */
+    private void updateVirtualWindow() {
+        int totalCount = mPositionDataList.size();
+        int first = 0;
+        int last = -1;
+        if (totalCount > 0 && mScrollView != null) {
+            int viewportWidth = mScrollView.getWidth();
+            first = findTitleIndex(mScrollView.getScrollX() - viewportWidth / 2);
+            last = findTitleIndex(mScrollView.getScrollX() + viewportWidth + viewportWidth / 2);
+        }
+        // 下一次layout时已创建的title从第一个title的位置开始排列
+        mTitleContainer.setVirtualOffset(first <= last ? mPositionDataList.get(first).mLeft : mLeftPadding);
+
+        if (first == mFirstVirtualIndex && last == mLastVirtualIndex) {
+            return;
+        }
+        // 回收移出区间的title，从后往前移除保证子View下标正确
+        for (int i = mLastVirtualIndex; i >= mFirstVirtualIndex; i--) {
+            if (i < first || i > last) {
+                View v = mTitleContainer.getChildAt(i - mFirstVirtualIndex);
+                mTitleContainer.removeTitleInLayout(i - mFirstVirtualIndex);
+                setTitleLayer(v, false);
+                mTitleViewPool.put(mAdapter.getTitleViewType(i), (IPagerTitleView) v);
+            }
+        }
+        int keptFirst = Math.max(first, mFirstVirtualIndex);
+        int keptLast = Math.min(last, mLastVirtualIndex);
+        int height = mTitleContainer.getHeight();
+        int widthMeasureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        int heightMeasureSpec = MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY);
+        for (int i = first; i <= last; i++) {
+            if (i >= keptFirst && i <= keptLast) {
+                continue;
+            }
+            View v = obtainTitleView(i);
+            LinearLayout.LayoutParams lp = new LinearLayout.LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.MATCH_PARENT);
+            mTitleContainer.addTitleInLayout(v, i - first, lp);
+            v.measure(widthMeasureSpec, heightMeasureSpec);
+            int x = mPositionDataList.get(i).mLeft;
+            v.layout(x, 0, x + v.getMeasuredWidth(), height);
+            restoreTitleState((IPagerTitleView) v, i);
+        }
+        mFirstVirtualIndex = first;
+        mLastVirtualIndex = last;
+        mTitleContainer.invalidate();
+    }
+
+    /**
+     * @return 二分查找x坐标所在的title下标
+     */
+    private int findTitleIndex(int x) {
+        int low = 0;
+        int high = mPositionDataList.size() - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mPositionDataList.get(mid).mRight <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private View obtainTitleView(int index) {
+        IPagerTitleView convertView = mTitleViewPool.get(mAdapter.getTitleViewType(index));
+        IPagerTitleView titleView = mAdapter.getTitleView(getContext(), index, convertView);
+        obtainPreMeasurePaint(titleView);
+        if (!(titleView instanceof View)) {
+            throw new IllegalStateException("title at " + index + " must be a View in virtual mode.");
+        }
+        return (View) titleView;
+    }
+
+    /**
+     * 新创建或复用的title需要恢复与NavigatorHelper一致的状态
+     */
+    private void restoreTitleState(IPagerTitleView titleView, int index) {
+        int totalCount = mNavigatorHelper.getTotalCount();
+        if (index == mNavigatorHelper.getCurrentIndex()) {
+            titleView.onSelected(index, totalCount);
+        } else {
+            titleView.onDeselected(index, totalCount);
+        }
+        titleView.onLeave(index, totalCount, mNavigatorHelper.getLeavePercent(index), false);
+        setTitleLayer((View) titleView, isInLayerWindow(index) && !isTransitioning(index));
+    }
+
+    /**
+     * 开始滚动时为与可见区域相交的title开启硬件层，之后进入、离开中的title在onEnter、onLeave中单独关闭，
+     * 滚动到可见区域外的title随即关闭，避免title很多时硬件层占用大量显存；停止滚动时全部关闭
+     */
+    private void updateTitleLayers(boolean active) {
+        if (mTitleLayersActive == active || mTitleContainer == null) {
+            return;
+        }
+        if (active) {
+            mTitleLayersActive = true;
+            updateLayerWindow();
+        } else {
+            clearTitleLayers();
+            mTitleLayersActive = false;
+        }
+    }
+
+    /**
+     * 根据滚动位置更新开启硬件层的title区间，只处理进入、移出区间的title
+     */
+    private void updateLayerWindow() {
+        int totalCount = mPositionDataList.size();
+        int first = 0;
+        int last = -1;
+        if (totalCount > 0) {
+            if (mScrollView != null) {
+                first = findTitleIndex(mScrollView.getScrollX());
+                last = findTitleIndex(mScrollView.getScrollX() + mScrollView.getWidth() - 1);
+            } else {
+                last = totalCount - 1;
+            }
+        }
+        for (int i = mLayerFirstIndex; i <= mLayerLastIndex; i++) {
+            if (i < first || i > last) {
+                View v = getTitleViewAt(i);
+                if (v instanceof IPagerTitleView) {
+                    setTitleLayer(v, false);
+                }
+            }
+        }
+        for (int i = first; i <= last; i++) {
+            if (i < mLayerFirstIndex || i > mLayerLastIndex) {
+                View v = getTitleViewAt(i);
+                if (v instanceof IPagerTitleView) {
+                    setTitleLayer(v, !isTransitioning(i));
+                }
+            }
+        }
+        mLayerFirstIndex = first;
+        mLayerLastIndex = last;
+    }
+
+    private void clearTitleLayers() {
+        for (int i = 0, j = mTitleContainer.getChildCount(); i < j; i++) {
+            View v = mTitleContainer.getChildAt(i);
+            if (v instanceof IPagerTitleView) {
+                setTitleLayer(v, false);
+            }
+        }
+        mLayerFirstIndex = 0;
+        mLayerLastIndex = -1;
+    }
+
+    private boolean isInLayerWindow(int index) {
+        return mTitleLayersActive && index >= mLayerFirstIndex && index <= mLayerLastIndex;
+    }
+
+    /**
+     * 进入、离开百分比在0.0f - 1.0f之间的title每帧都会重绘，缓存到硬件层反而需要每帧重新渲染硬件层
+     */
+    private boolean isTransitioning(int index) {
+        float leavePercent = mNavigatorHelper.getLeavePercent(index);
+        return leavePercent > 0.0f && leavePercent < 1.0f;
+    }
+
+    private void updateTransitionLayer(View v, int index, float percent) {
+        if (isInLayerWindow(index)) {
+            setTitleLayer(v, percent <= 0.0f || percent >= 1.0f);
+        }
+    }
+
+    private void setTitleLayer(View v, boolean layer) {
+        int layerType = layer ? ViewCompat.LAYER_TYPE_HARDWARE : ViewCompat.LAYER_TYPE_NONE;
+        if (ViewCompat.getLayerType(v) != layerType) {
+            ViewCompat.setLayerType(v, layerType, null);
+        }
+    }
+
+    /**
+     * @return 下标为index的title，虚拟化模式下未创建的title返回null
+     */
+    private View getTitleViewAt(int index) {
+        if (mTitleContainer == null) {
+            return null;
+        }
+        if (isVirtual()) {
+            if (index < mFirstVirtualIndex || index > mLastVirtualIndex) {
+                return null;
+            }
+            return mTitleContainer.getChildAt(index - mFirstVirtualIndex);
+        }
+        return mTitleContainer.getChildAt(index);
+    }
+
+    private boolean isVirtual() {
+        return mVirtualMode && !mAdjustMode;
+    }
+
+    /**
+     * 采集单个title的坐标，title的文字、字号等可能在四个点坐标不变的情况下改变，因此内容区域每次都重新读取
+     *
+     * @return 坐标或内容区域是否发生了变化
+     */
+    private boolean updatePositionData(PositionData data, View v) {
+        int left = 0, top = 0, right = 0, bottom = 0;
+        if (v != null) {
+            left = v.getLeft();
+            top = v.getTop();
+            right = v.getRight();
+            bottom = v.getBottom();
+        }
+        int contentLeft = left, contentTop = top, contentRight = right, contentBottom = bottom;
+        if (v instanceof IMeasurablePagerTitleView) {
+            IMeasurablePagerTitleView view = (IMeasurablePagerTitleView) v;
+            contentLeft = view.getContentLeft();
+            contentTop = view.getContentTop();
+            contentRight = view.getContentRight();
+            contentBottom = view.getContentBottom();
+        }
+        boolean changed = mPositionDataInvalid || data.mLeft != left || data.mTop != top || data.mRight != right || data.mBottom != bottom
+                || data.mContentLeft != contentLeft || data.mContentTop != contentTop || data.mContentRight != contentRight || data.mContentBottom != contentBottom;
+        data.mLeft = left;
+        data.mTop = top;
+        data.mRight = right;
+        data.mBottom = bottom;
+        data.mContentLeft = contentLeft;
+        data.mContentTop = contentTop;
+        data.mContentRight = contentRight;
+        data.mContentBottom = contentBottom;
+        return changed;
     }
 
     @Override
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
         if (mAdapter != null) {
+            FrameTracer tracer = getFrameTracer();
+            long begin = tracer != null ? tracer.begin() : 0;
             // 控制离开、选择、没有选择、进入集中状态
             mNavigatorHelper.onPageScrolled(position, positionOffset, positionOffsetPixels);
+            if (tracer != null) {
+                tracer.end(FrameTracer.SECTION_TITLE_TRANSITION, begin);
+                begin = tracer.begin();
+            }
             if (mIndicator != null) {
                 // 绘制指示器
                 mIndicator.onPageScrolled(position, positionOffset, positionOffsetPixels);
             }
+            if (tracer != null) {
+                tracer.end(FrameTracer.SECTION_INDICATOR, begin);
+                begin = tracer.begin();
+            }
 
             // 手指跟随滚动
             if (mScrollView != null && mPositionDataList.size() > 0 && position >= 0 && position < mPositionDataList
@@ -249,9 +891,20 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
                     // TODO 实现待选中项完全显示出来
                 }
             }
+            if (tracer != null) {
+                tracer.end(FrameTracer.SECTION_SCROLL_VIEW, begin);
+            }
         }
     }
 
+    /**
+     * @return 所在MagicIndicator的耗时统计，未开启时返回null
+     */
+    private FrameTracer getFrameTracer() {
+        ViewParent parent = getParent();
+        return parent instanceof MagicIndicator ? ((MagicIndicator) parent).getFrameTracer() : null;
+    }
+
     public float getScrollPivotX() {
         return mScrollPivotX;
     }
@@ -274,6 +927,9 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
     public void onPageScrollStateChanged(int state) {
         if (mAdapter != null) {
             mNavigatorHelper.onPageScrollStateChanged(state);
+            if (mTitleLayerCache) {
+                updateTitleLayers(state != ScrollState.SCROLL_STATE_IDLE);
+            }
             if (mIndicator != null) {
                 mIndicator.onPageScrollStateChanged(state);
             }
@@ -289,6 +945,23 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
     public void onDetachFromMagicIndicator() {
     }
 
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        getViewTreeObserver().addOnScrollChangedListener(mScrollChangedListener);
+        if (mTitlesPending) {
+            removeCallbacks(mCreatePendingTitlesRunnable);
+            ViewCompat.postOnAnimation(this, mCreatePendingTitlesRunnable);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        getViewTreeObserver().removeOnScrollChangedListener(mScrollChangedListener);
+        removeCallbacks(mCreatePendingTitlesRunnable);
+        super.onDetachedFromWindow();
+    }
+
     public IPagerIndicator getPagerIndicator() {
         return mIndicator;
     }
@@ -303,23 +976,19 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
 
     @Override
     public void onEnter(int index, int totalCount, float enterPercent, boolean leftToRight) {
-        if (mTitleContainer == null) {
-            return;
-        }
-        View v = mTitleContainer.getChildAt(index);
+        View v = getTitleViewAt(index);
         if (v instanceof IPagerTitleView) {
             ((IPagerTitleView) v).onEnter(index, totalCount, enterPercent, leftToRight);
+            updateTransitionLayer(v, index, enterPercent);
         }
     }
 
     @Override
     public void onLeave(int index, int totalCount, float leavePercent, boolean leftToRight) {
-        if (mTitleContainer == null) {
-            return;
-        }
-        View v = mTitleContainer.getChildAt(index);
+        View v = getTitleViewAt(index);
         if (v instanceof IPagerTitleView) {
             ((IPagerTitleView) v).onLeave(index, totalCount, leavePercent, leftToRight);
+            updateTransitionLayer(v, index, leavePercent);
         }
     }
 
@@ -350,10 +1019,7 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
 
     @Override
     public void onSelected(int index, int totalCount) {
-        if (mTitleContainer == null) {
-            return;
-        }
-        View v = mTitleContainer.getChildAt(index);
+        View v = getTitleViewAt(index);
         if (v instanceof IPagerTitleView) {
             ((IPagerTitleView) v).onSelected(index, totalCount);
         }
@@ -388,22 +1054,23 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
 
     @Override
     public void onDeselected(int index, int totalCount) {
-        if (mTitleContainer == null) {
-            return;
-        }
-        View v = mTitleContainer.getChildAt(index);
+        View v = getTitleViewAt(index);
         if (v instanceof IPagerTitleView) {
             ((IPagerTitleView) v).onDeselected(index, totalCount);
         }
     }
 
+    /**
+     * @return 虚拟化模式下不在可见区域附近的title、分帧创建时尚未创建的title返回null
+     */
     public IPagerTitleView getPagerTitleView(int index) {
-        if (mTitleContainer == null) {
-            return null;
-        }
-        return (IPagerTitleView) mTitleContainer.getChildAt(index);
+        View v = getTitleViewAt(index);
+        return v instanceof IPagerTitleView ? (IPagerTitleView) v : null;
     }
 
+    /**
+     * @return title的父布局，getChildCount()、getChildAt()只包含title，indicator虽然也由其绘制但不计入其中
+     */
     public LinearLayout getTitleContainer() {
         return mTitleContainer;
     }
@@ -430,6 +1097,9 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
 
     public void setIndicatorOnTop(boolean indicatorOnTop) {
         mIndicatorOnTop = indicatorOnTop;
+        if (mTitleContainer != null) {
+            mTitleContainer.setIndicatorOnTop(indicatorOnTop);
+        }
     }
 
     public boolean isReselectWhenLayout() {
@@ -439,4 +1109,121 @@ public class CommonNavigator extends FrameLayout implements IPagerNavigator, Nav
     public void setReselectWhenLayout(boolean reselectWhenLayout) {
         mReselectWhenLayout = reselectWhenLayout;
     }
+
+    public boolean isVirtualMode() {
+        return mVirtualMode;
+    }
+
+    /**
+     * 虚拟化模式下只创建可见区域附近的title，离开可见区域的title会通过
+     * CommonNavigatorAdapter.getTitleView(Context, int, IPagerTitleView)按类型复用，
+     * 未创建的title仍会提供正确的PositionData，getTitleContainer()中只包含已创建的title
+     */
+    public void setVirtualMode(boolean virtualMode) {
+        mVirtualMode = virtualMode;
+    }
+
+    /**
+     * 开启title文字的后台预测量，适用于title很多、文字较长的情况，传入null关闭
+     * 需要adapter实现getTitleText()，文字样式取自第一个创建的TextView类型的title(如SimplePagerTitleView)，
+     * 因此只预测量与它样式一致的title，可通过TextMeasureCache.getPreMeasureHitCount()检查命中情况
+     *
+     * @param executor 执行测量的线程池
+     */
+    public void setTextPreMeasure(Executor executor) {
+        mPreMeasureExecutor = executor;
+        mPreMeasurePaint = null;
+        mPreMeasurePaintFromTitle = executor != null;
+        if (executor != null && mAdapter != null && mTitleContainer != null) {
+            for (int i = 0, j = mTitleContainer.getChildCount(); i < j && mPreMeasurePaint == null; i++) {
+                View v = mTitleContainer.getChildAt(i);
+                if (v instanceof IPagerTitleView) {
+                    obtainPreMeasurePaint((IPagerTitleView) v);
+                }
+            }
+        }
+    }
+
+    /**
+     * 开启title文字的后台预测量，适用于title很多、文字较长的情况，传入null关闭
+     * 需要adapter实现getTitleText()，只有与textPaint的字号、字体、语言等样式完全一致的title才会命中预测量的结果，
+     * 样式不一致时预测量不会报错，只是没有效果，可通过TextMeasureCache.getPreMeasureHitCount()检查，
+     * 或使用setTextPreMeasure(Executor)从title中获取样式
+     *
+     * @param executor  执行测量的线程池
+     * @param textPaint title文字的样式，会被复制
+     */
+    public void setTextPreMeasure(Executor executor, Paint textPaint) {
+        mPreMeasureExecutor = textPaint != null ? executor : null;
+        mPreMeasurePaint = textPaint != null ? new Paint(textPaint) : null;
+        mPreMeasurePaintFromTitle = false;
+        if (mAdapter != null) {
+            preMeasureTitles(0, mAdapter.getCount());
+        }
+    }
+
+    public boolean isTitleLayerCache() {
+        return mTitleLayerCache;
+    }
+
+    /**
+     * 滚动时将可见区域内不在切换中的title缓存到硬件层，只有NavigatorHelper分发进入、离开的title重新绘制，
+     * 适用于title布局复杂的情况，可见区域外的title不开启硬件层，停止滚动后释放硬件层
+     */
+    public void setTitleLayerCache(boolean titleLayerCache) {
+        if (!titleLayerCache) {
+            updateTitleLayers(false);
+        }
+        mTitleLayerCache = titleLayerCache;
+    }
+
+    public boolean isIncrementalInit() {
+        return mIncrementalInit;
+    }
+
+    /**
+     * 分帧创建title，适用于title布局复杂、首帧创建耗时较长的情况，虚拟化模式下无效
+     * 初始化时先创建当前页附近的title，其余title先用占位View提供估算的PositionData，
+     * 在之后的每帧中按时间预算逐个创建，getPagerTitleView()对尚未创建的title返回null
+     */
+    public void setIncrementalInit(boolean incrementalInit) {
+        mIncrementalInit = incrementalInit;
+    }
+
+    public int getIncrementalInitBudget() {
+        return mIncrementalInitBudget;
+    }
+
+    /**
+     * 每帧的实际耗时包括创建title和随后的一次measure、layout：替换占位View后其后所有title的坐标都可能变化，
+     * layout会测量所有title、重新采集所有title的PositionData并通知indicator，耗时与title总数成正比。
+     * 上一帧measure、layout的耗时会从下一帧的预算中扣除，因此两者之和大致不超过该预算；
+     * 但每帧至少创建一个title，layout本身超过预算时每帧耗时为一个title的创建加一次完整layout，
+     * title数量很多时应使用虚拟化模式
+     *
+     * @param incrementalInitBudget 分帧创建时每帧用于创建title和随后measure、layout的时间(毫秒)
+     */
+    public void setIncrementalInitBudget(int incrementalInitBudget) {
+        mIncrementalInitBudget = incrementalInitBudget;
+    }
+
+    /**
+     * 在后台线程测量一组文字，只持有复制的Paint和文字，不持有CommonNavigator
+     */
+    private static class PreMeasureTask implements Runnable {
+        private final Paint mPaint;
+        private final List<String> mTexts;
+
+        PreMeasureTask(Paint paint, List<String> texts) {
+            mPaint = paint;
+            mTexts = texts;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0, j = mTexts.size(); i < j; i++) {
+                TextMeasureCache.preMeasure(mPaint, mTexts.get(i));
+            }
+        }
+    }
 }
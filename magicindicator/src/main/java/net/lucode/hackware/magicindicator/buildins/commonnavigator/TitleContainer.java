@@ -0,0 +1,181 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+/**
+ * CommonNavigator中title的父布局，同时承载indicator，省去了单独的indicator父布局
+ * indicator是最后一个子View，由dispatchDraw按绘制顺序绘制在title的上层或下层，铺满整个容器；
+ * getChildCount()、getChildAt()只包含title，因此indicator不参与LinearLayout的测量、布局和分割线，
+ * 外部通过CommonNavigator.getTitleContainer()访问时也只能看到title
+ */
+class TitleContainer extends LinearLayout {
+    private View mIndicatorView;
+    private boolean mIndicatorOnTop;
+
+    // 虚拟化模式下只包含部分title，宽度为所有title的总宽度，已创建的title从mVirtualOffset开始依次排列
+    private int mVirtualWidth = -1; // -1表示非虚拟化模式
+    private int mVirtualOffset;
+
+    public TitleContainer(Context context) {
+        super(context);
+        setOrientation(HORIZONTAL);
+    }
+
+    /**
+     * @param indicatorView 为null时移除当前的indicator
+     */
+    public void setIndicatorView(View indicatorView) {
+        if (mIndicatorView == indicatorView) {
+            return;
+        }
+        if (mIndicatorView != null) {
+            View old = mIndicatorView;
+            mIndicatorView = null;
+            removeView(old);
+        }
+        if (indicatorView != null) {
+            // 在mIndicatorView赋值前添加，getChildCount()此时等于全部子View数量，indicator位于最后
+            super.addView(indicatorView, getChildCount(), new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+        }
+        mIndicatorView = indicatorView;
+        setChildrenDrawingOrderEnabled(indicatorView != null && !mIndicatorOnTop);
+    }
+
+    public View getIndicatorView() {
+        return mIndicatorView;
+    }
+
+    public void setIndicatorOnTop(boolean indicatorOnTop) {
+        mIndicatorOnTop = indicatorOnTop;
+        setChildrenDrawingOrderEnabled(mIndicatorView != null && !mIndicatorOnTop);
+        invalidate();
+    }
+
+    /**
+     * @return title的数量，不包含indicator
+     */
+    @Override
+    public int getChildCount() {
+        int count = super.getChildCount();
+        return mIndicatorView != null ? count - 1 : count;
+    }
+
+    /**
+     * @return 下标超出title数量时返回null，不会返回indicator
+     */
+    @Override
+    public View getChildAt(int index) {
+        return index < getChildCount() ? super.getChildAt(index) : null;
+    }
+
+    /**
+     * @param virtualWidth 虚拟化模式下所有title的总宽度(含左右padding)，-1表示非虚拟化模式
+     */
+    public void setVirtualWidth(int virtualWidth) {
+        if (mVirtualWidth != virtualWidth) {
+            mVirtualWidth = virtualWidth;
+            requestLayout();
+        }
+    }
+
+    /**
+     * 设置第一个已创建title的x坐标，只在下一次layout时生效，不会触发requestLayout，
+     * 已经布局好的title由调用方保证位置正确
+     */
+    public void setVirtualOffset(int virtualOffset) {
+        mVirtualOffset = virtualOffset;
+    }
+
+    /**
+     * 不触发requestLayout的添加，用于虚拟化模式下滚动时增加title，调用方需要自行measure、layout
+     */
+    public void addTitleInLayout(View child, int index, ViewGroup.LayoutParams params) {
+        int titleCount = getChildCount();
+        if (index < 0 || index > titleCount) {
+            index = titleCount;
+        }
+        addViewInLayout(child, index, params, true);
+    }
+
+    /**
+     * 不触发requestLayout的移除，用于虚拟化模式下滚动时回收title
+     */
+    public void removeTitleInLayout(int index) {
+        removeViewsInLayout(index, 1);
+    }
+
+    /**
+     * 不触发requestLayout地替换title，用于分帧创建时替换占位View，调用方需要在替换完一批后统一requestLayout
+     */
+    public void replaceTitleInLayout(int index, View child, ViewGroup.LayoutParams params) {
+        removeViewsInLayout(index, 1);
+        addViewInLayout(child, index, params, true);
+    }
+
+    /**
+     * 移除所有title，保留indicator
+     */
+    public void removeAllTitles() {
+        int titleCount = getChildCount();
+        if (titleCount > 0) {
+            removeViews(0, titleCount);
+        }
+    }
+
+    @Override
+    public void addView(View child, int index, ViewGroup.LayoutParams params) {
+        // title始终位于indicator之前
+        int titleCount = getChildCount();
+        if (index < 0 || index > titleCount) {
+            index = titleCount;
+        }
+        super.addView(child, index, params);
+    }
+
+    @Override
+    public void removeAllViews() {
+        mIndicatorView = null;
+        setChildrenDrawingOrderEnabled(false);
+        super.removeAllViews();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        if (mVirtualWidth >= 0) {
+            setMeasuredDimension(resolveSize(mVirtualWidth, widthMeasureSpec), getMeasuredHeight());
+        }
+        if (mIndicatorView != null) {
+            mIndicatorView.measure(MeasureSpec.makeMeasureSpec(getMeasuredWidth(), MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(getMeasuredHeight(), MeasureSpec.EXACTLY));
+        }
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+        if (mVirtualWidth >= 0) {
+            int offset = mVirtualOffset - getPaddingLeft();
+            for (int i = 0, j = getChildCount(); i < j; i++) {
+                getChildAt(i).offsetLeftAndRight(offset);
+            }
+        }
+        if (mIndicatorView != null) {
+            mIndicatorView.layout(0, 0, r - l, b - t);
+        }
+    }
+
+    /**
+     * indicator在title下层时最先绘制，childCount包含indicator
+     */
+    @Override
+    protected int getChildDrawingOrder(int childCount, int i) {
+        if (mIndicatorView == null || mIndicatorOnTop) {
+            return i;
+        }
+        return i == 0 ? childCount - 1 : i - 1;
+    }
+}
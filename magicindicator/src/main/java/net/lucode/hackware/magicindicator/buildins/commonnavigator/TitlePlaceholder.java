@@ -0,0 +1,29 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator;
+
+import android.content.Context;
+import android.view.View;
+
+/**
+ * CommonNavigator分帧创建title时，尚未创建的title的占位View，不绘制任何内容
+ * 宽度为已创建title的平均宽度，使其PositionData接近真实值，真实title创建后替换
+ */
+final class TitlePlaceholder extends View {
+    private int mEstimatedWidth;
+
+    TitlePlaceholder(Context context, int estimatedWidth) {
+        super(context);
+        mEstimatedWidth = estimatedWidth;
+    }
+
+    void setEstimatedWidth(int estimatedWidth) {
+        if (mEstimatedWidth != estimatedWidth) {
+            mEstimatedWidth = estimatedWidth;
+            requestLayout();
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        setMeasuredDimension(resolveSize(mEstimatedWidth, widthMeasureSpec), getDefaultSize(getSuggestedMinimumHeight(), heightMeasureSpec));
+    }
+}
@@ -0,0 +1,39 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator;
+
+import android.util.SparseArray;
+
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerTitleView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CommonNavigator虚拟化模式下的title回收池，按类型保存离开可见区域的title
+ */
+final class TitleViewPool {
+    private SparseArray<List<IPagerTitleView>> mScrapViews = new SparseArray<List<IPagerTitleView>>();
+
+    void put(int viewType, IPagerTitleView titleView) {
+        List<IPagerTitleView> scrapViews = mScrapViews.get(viewType);
+        if (scrapViews == null) {
+            scrapViews = new ArrayList<IPagerTitleView>();
+            mScrapViews.put(viewType, scrapViews);
+        }
+        scrapViews.add(titleView);
+    }
+
+    /**
+     * @return 没有可复用的title时返回null
+     */
+    IPagerTitleView get(int viewType) {
+        List<IPagerTitleView> scrapViews = mScrapViews.get(viewType);
+        if (scrapViews == null || scrapViews.isEmpty()) {
+            return null;
+        }
+        return scrapViews.remove(scrapViews.size() - 1);
+    }
+
+    void clear() {
+        mScrapViews.clear();
+    }
+}
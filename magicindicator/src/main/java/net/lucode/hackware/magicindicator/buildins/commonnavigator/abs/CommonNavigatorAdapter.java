@@ -11,7 +11,12 @@ import android.database.DataSetObserver;
  */
 public abstract class CommonNavigatorAdapter {
 
-    private final DataSetObservable mDataSetObservable = new DataSetObservable();
+    private static final int ITEM_RANGE_CHANGED = 0;
+    private static final int ITEM_RANGE_INSERTED = 1;
+    private static final int ITEM_RANGE_REMOVED = 2;
+    private static final int ITEM_MOVED = 3;
+
+    private final NavigatorDataSetObservable mDataSetObservable = new NavigatorDataSetObservable();
 
     public abstract int getCount();
 
@@ -23,6 +28,29 @@ public abstract class CommonNavigatorAdapter {
         return 1;
     }
 
+    /**
+     * title的类型，CommonNavigator虚拟化模式下只会复用相同类型的title
+     */
+    public int getTitleViewType(int index) {
+        return 0;
+    }
+
+    /**
+     * CommonNavigator虚拟化模式下获取title，默认忽略convertView，重新创建title
+     *
+     * @param convertView 可复用的、相同类型的title，可能为null
+     */
+    public IPagerTitleView getTitleView(Context context, int index, IPagerTitleView convertView) {
+        return getTitleView(context, index);
+    }
+
+    /**
+     * title的文字，CommonNavigator开启预测量时会在主线程调用，再在后台线程测量，默认返回null表示不预测量
+     */
+    public CharSequence getTitleText(int index) {
+        return null;
+    }
+
     public final void registerDataSetObserver(DataSetObserver observer) {
         mDataSetObservable.registerObserver(observer);
     }
@@ -38,4 +66,67 @@ public abstract class CommonNavigatorAdapter {
     public final void notifyDataSetInvalidated() {
         mDataSetObservable.notifyInvalidated();
     }
+
+    /**
+     * 局部更新，CommonNavigator只重建变化的title，保留滚动位置和indicator状态
+     */
+    public final void notifyItemChanged(int index) {
+        notifyItemRangeChanged(index, 1);
+    }
+
+    public final void notifyItemRangeChanged(int positionStart, int itemCount) {
+        mDataSetObservable.notifyItemRange(ITEM_RANGE_CHANGED, positionStart, itemCount);
+    }
+
+    public final void notifyItemInserted(int index) {
+        notifyItemRangeInserted(index, 1);
+    }
+
+    public final void notifyItemRangeInserted(int positionStart, int itemCount) {
+        mDataSetObservable.notifyItemRange(ITEM_RANGE_INSERTED, positionStart, itemCount);
+    }
+
+    public final void notifyItemRemoved(int index) {
+        notifyItemRangeRemoved(index, 1);
+    }
+
+    public final void notifyItemRangeRemoved(int positionStart, int itemCount) {
+        mDataSetObservable.notifyItemRange(ITEM_RANGE_REMOVED, positionStart, itemCount);
+    }
+
+    public final void notifyItemMoved(int fromPosition, int toPosition) {
+        mDataSetObservable.notifyItemRange(ITEM_MOVED, fromPosition, toPosition);
+    }
+
+    private static class NavigatorDataSetObservable extends DataSetObservable {
+
+        void notifyItemRange(int type, int arg1, int arg2) {
+            synchronized (mObservers) {
+                for (int i = mObservers.size() - 1; i >= 0; i--) {
+                    DataSetObserver observer = mObservers.get(i);
+                    if (!(observer instanceof CommonNavigatorDataSetObserver)) {
+                        observer.onChanged();
+                        continue;
+                    }
+                    CommonNavigatorDataSetObserver navigatorObserver = (CommonNavigatorDataSetObserver) observer;
+                    switch (type) {
+                        case ITEM_RANGE_CHANGED:
+                            navigatorObserver.onItemRangeChanged(arg1, arg2);
+                            break;
+                        case ITEM_RANGE_INSERTED:
+                            navigatorObserver.onItemRangeInserted(arg1, arg2);
+                            break;
+                        case ITEM_RANGE_REMOVED:
+                            navigatorObserver.onItemRangeRemoved(arg1, arg2);
+                            break;
+                        case ITEM_MOVED:
+                            navigatorObserver.onItemMoved(arg1, arg2);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        }
+    }
 }
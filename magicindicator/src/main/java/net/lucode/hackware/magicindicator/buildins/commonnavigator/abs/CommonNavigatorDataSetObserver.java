@@ -0,0 +1,25 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator.abs;
+
+import android.database.DataSetObserver;
+
+/**
+ * 可以接收局部变化通知的DataSetObserver，未覆写的方法默认当作整体变化处理
+ */
+public abstract class CommonNavigatorDataSetObserver extends DataSetObserver {
+
+    public void onItemRangeChanged(int positionStart, int itemCount) {
+        onChanged();
+    }
+
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+        onChanged();
+    }
+
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+        onChanged();
+    }
+
+    public void onItemMoved(int fromPosition, int toPosition) {
+        onChanged();
+    }
+}
@@ -0,0 +1,20 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator.abs;
+
+
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionData;
+
+import java.util.List;
+
+/**
+ * 支持局部更新坐标数据的指示器，title数量不变时CommonNavigator只通知坐标发生变化的区间
+ */
+public interface IIncrementalPagerIndicator extends IPagerIndicator {
+    /**
+     * 坐标数据局部变化
+     *
+     * @param dataList  与onPositionDataProvide中提供的是同一对象
+     * @param fromIndex 发生变化的第一个下标
+     * @param toIndex   发生变化的最后一个下标(包含)
+     */
+    void onPositionDataChanged(List<PositionData> dataList, int fromIndex, int toIndex);
+}
@@ -9,11 +9,13 @@ import android.view.animation.AccelerateInterpolator;
 import android.view.animation.DecelerateInterpolator;
 import android.view.animation.Interpolator;
 
-import net.lucode.hackware.magicindicator.FragmentContainerHelper;
 import net.lucode.hackware.magicindicator.buildins.ArgbEvaluatorHolder;
+import net.lucode.hackware.magicindicator.buildins.ColorRamp;
+import net.lucode.hackware.magicindicator.buildins.SampledInterpolator;
 import net.lucode.hackware.magicindicator.buildins.UIUtil;
-import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerIndicator;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IIncrementalPagerIndicator;
 import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionData;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionTable;
 
 import java.util.Arrays;
 import java.util.List;
@@ -23,8 +25,8 @@ import java.util.List;
  * 博客: http://hackware.lucode.net
  * Created by hackware on 2016/6/26.
  */
-public class BezierPagerIndicator extends View implements IPagerIndicator {
-    private List<PositionData> mPositionDataList;
+public class BezierPagerIndicator extends View implements IIncrementalPagerIndicator {
+    private PositionTable mPositionTable = new PositionTable();
 
     private float mLeftCircleRadius;
     private float mLeftCircleX;
@@ -37,10 +39,13 @@ public class BezierPagerIndicator extends View implements IPagerIndicator {
 
     private Paint mPaint;
     private Path mPath = new Path();
+    private DirtyRegion mDirtyRegion = new DirtyRegion();
 
     private List<Integer> mColors;
-    private Interpolator mStartInterpolator = new AccelerateInterpolator();
-    private Interpolator mEndInterpolator = new DecelerateInterpolator();
+    private int mColorRampMode; // 默认为ColorRamp.MODE_NONE
+    private ColorRamp mColorRamp;
+    private Interpolator mStartInterpolator = new SampledInterpolator(new AccelerateInterpolator());
+    private Interpolator mEndInterpolator = new SampledInterpolator(new DecelerateInterpolator());
 
     public BezierPagerIndicator(Context context) {
         super(context);
@@ -81,7 +86,7 @@ public class BezierPagerIndicator extends View implements IPagerIndicator {
 
     @Override
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
-        if (mPositionDataList == null || mPositionDataList.isEmpty()) {
+        if (mPositionTable.isEmpty()) {
             return;
         }
 
@@ -89,23 +94,27 @@ public class BezierPagerIndicator extends View implements IPagerIndicator {
         if (mColors != null && mColors.size() > 0) {
             int currentColor = mColors.get(Math.abs(position) % mColors.size());
             int nextColor = mColors.get(Math.abs(position + 1) % mColors.size());
-            int color = ArgbEvaluatorHolder.eval(positionOffset, currentColor, nextColor);
+            int color = evalColor(positionOffset, currentColor, nextColor);
             mPaint.setColor(color);
         }
 
         // 计算锚点位置
-        PositionData current = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position);
-        PositionData next = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position + 1);
+        int nextPosition = position + 1;
 
-        float leftX = current.mLeft + (current.mRight - current.mLeft) / 2;
-        float rightX = next.mLeft + (next.mRight - next.mLeft) / 2;
+        float leftX = mPositionTable.getHorizontalCenter(position);
+        float rightX = mPositionTable.getHorizontalCenter(nextPosition);
+        float startFraction = mStartInterpolator.getInterpolation(positionOffset);
+        float endFraction = mEndInterpolator.getInterpolation(positionOffset);
 
-        mLeftCircleX = leftX + (rightX - leftX) * mStartInterpolator.getInterpolation(positionOffset);
-        mRightCircleX = leftX + (rightX - leftX) * mEndInterpolator.getInterpolation(positionOffset);
-        mLeftCircleRadius = mMaxCircleRadius + (mMinCircleRadius - mMaxCircleRadius) * mEndInterpolator.getInterpolation(positionOffset);
-        mRightCircleRadius = mMinCircleRadius + (mMaxCircleRadius - mMinCircleRadius) * mStartInterpolator.getInterpolation(positionOffset);
+        mLeftCircleX = leftX + (rightX - leftX) * startFraction;
+        mRightCircleX = leftX + (rightX - leftX) * endFraction;
+        mLeftCircleRadius = mMaxCircleRadius + (mMinCircleRadius - mMaxCircleRadius) * endFraction;
+        mRightCircleRadius = mMinCircleRadius + (mMaxCircleRadius - mMinCircleRadius) * startFraction;
 
-        invalidate();
+        // 贝塞尔曲线不会超出两个圆的外接矩形
+        float y = getHeight() - mYOffset - mMaxCircleRadius;
+        mDirtyRegion.invalidate(this, Math.min(mLeftCircleX - mLeftCircleRadius, mRightCircleX - mRightCircleRadius), y - mMaxCircleRadius,
+                Math.max(mLeftCircleX + mLeftCircleRadius, mRightCircleX + mRightCircleRadius), y + mMaxCircleRadius, mPaint.getColor());
     }
 
     @Override
@@ -118,7 +127,12 @@ public class BezierPagerIndicator extends View implements IPagerIndicator {
 
     @Override
     public void onPositionDataProvide(List<PositionData> dataList) {
-        mPositionDataList = dataList;
+        mPositionTable.update(dataList);
+    }
+
+    @Override
+    public void onPositionDataChanged(List<PositionData> dataList, int fromIndex, int toIndex) {
+        mPositionTable.update(dataList, fromIndex, toIndex);
     }
 
     public float getMaxCircleRadius() {
@@ -127,6 +141,8 @@ public class BezierPagerIndicator extends View implements IPagerIndicator {
 
     public void setMaxCircleRadius(float maxCircleRadius) {
         mMaxCircleRadius = maxCircleRadius;
+        mDirtyRegion.forceInvalidate();
+        invalidate();
     }
 
     public float getMinCircleRadius() {
@@ -135,6 +151,8 @@ public class BezierPagerIndicator extends View implements IPagerIndicator {
 
     public void setMinCircleRadius(float minCircleRadius) {
         mMinCircleRadius = minCircleRadius;
+        mDirtyRegion.forceInvalidate();
+        invalidate();
     }
 
     public float getYOffset() {
@@ -143,23 +161,48 @@ public class BezierPagerIndicator extends View implements IPagerIndicator {
 
     public void setYOffset(float yOffset) {
         mYOffset = yOffset;
+        mDirtyRegion.forceInvalidate();
+        invalidate();
     }
 
     public void setColors(Integer... colors) {
         mColors = Arrays.asList(colors);
     }
 
+    public int getColorRampMode() {
+        return mColorRampMode;
+    }
+
+    /**
+     * 设置颜色渐变的计算方式，默认为ColorRamp.MODE_NONE
+     */
+    public void setColorRampMode(int colorRampMode) {
+        if (colorRampMode == ColorRamp.MODE_NONE || colorRampMode == ColorRamp.MODE_LINEAR || colorRampMode == ColorRamp.MODE_GAMMA) {
+            mColorRampMode = colorRampMode;
+        } else {
+            throw new IllegalArgumentException("color ramp mode " + colorRampMode + " not supported.");
+        }
+    }
+
     public void setStartInterpolator(Interpolator startInterpolator) {
-        mStartInterpolator = startInterpolator;
+        mStartInterpolator = SampledInterpolator.of(startInterpolator);
         if (mStartInterpolator == null) {
-            mStartInterpolator = new AccelerateInterpolator();
+            mStartInterpolator = new SampledInterpolator(new AccelerateInterpolator());
         }
     }
 
     public void setEndInterpolator(Interpolator endInterpolator) {
-        mEndInterpolator = endInterpolator;
+        mEndInterpolator = SampledInterpolator.of(endInterpolator);
         if (mEndInterpolator == null) {
-            mEndInterpolator = new DecelerateInterpolator();
+            mEndInterpolator = new SampledInterpolator(new DecelerateInterpolator());
+        }
+    }
+
+    private int evalColor(float fraction, int startColor, int endColor) {
+        if (mColorRampMode == ColorRamp.MODE_NONE) {
+            return ArgbEvaluatorHolder.eval(fraction, startColor, endColor);
         }
+        mColorRamp = ColorRamp.obtain(mColorRamp, startColor, endColor, mColorRampMode == ColorRamp.MODE_GAMMA);
+        return mColorRamp.eval(fraction);
     }
 }
@@ -0,0 +1,56 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator.indicators;
+
+import android.graphics.RectF;
+import android.view.View;
+
+/**
+ * 指示器的局部刷新，只刷新上一次与本次绘制区域的并集，区域和颜色都没有变化时不刷新
+ * 指示器通常与整个title栏一样宽，局部刷新可减少拖动时的光栅化面积
+ */
+final class DirtyRegion {
+    private static final float EPSILON = 0.05f; // 小于该值的坐标变化不会引起可见的差异
+    private static final int ANTI_ALIAS_MARGIN = 1; // 抗锯齿可能超出绘制区域的像素
+
+    private final RectF mDrawnBounds = new RectF();
+    private int mDrawnColor;
+    private boolean mDrawn;
+    private boolean mForce;
+
+    /**
+     * 下一次invalidate()一定会刷新，用于区域和颜色之外的属性发生变化时
+     */
+    void forceInvalidate() {
+        mForce = true;
+    }
+
+    /**
+     * 传入本次的绘制区域和颜色，区域的左右、上下可以颠倒
+     */
+    void invalidate(View view, float left, float top, float right, float bottom, int color) {
+        float l = Math.min(left, right);
+        float t = Math.min(top, bottom);
+        float r = Math.max(left, right);
+        float b = Math.max(top, bottom);
+        if (mDrawn && !mForce && color == mDrawnColor
+                && Math.abs(l - mDrawnBounds.left) < EPSILON && Math.abs(t - mDrawnBounds.top) < EPSILON
+                && Math.abs(r - mDrawnBounds.right) < EPSILON && Math.abs(b - mDrawnBounds.bottom) < EPSILON) {
+            return;
+        }
+        float dirtyLeft = l;
+        float dirtyTop = t;
+        float dirtyRight = r;
+        float dirtyBottom = b;
+        if (mDrawn) {
+            dirtyLeft = Math.min(dirtyLeft, mDrawnBounds.left);
+            dirtyTop = Math.min(dirtyTop, mDrawnBounds.top);
+            dirtyRight = Math.max(dirtyRight, mDrawnBounds.right);
+            dirtyBottom = Math.max(dirtyBottom, mDrawnBounds.bottom);
+        }
+        view.invalidate((int) Math.floor(dirtyLeft) - ANTI_ALIAS_MARGIN, (int) Math.floor(dirtyTop) - ANTI_ALIAS_MARGIN,
+                (int) Math.ceil(dirtyRight) + ANTI_ALIAS_MARGIN, (int) Math.ceil(dirtyBottom) + ANTI_ALIAS_MARGIN);
+        mDrawnBounds.set(l, t, r, b);
+        mDrawnColor = color;
+        mDrawn = true;
+        mForce = false;
+    }
+}
@@ -8,11 +8,13 @@ import android.view.View;
 import android.view.animation.Interpolator;
 import android.view.animation.LinearInterpolator;
 
-import net.lucode.hackware.magicindicator.FragmentContainerHelper;
 import net.lucode.hackware.magicindicator.buildins.ArgbEvaluatorHolder;
+import net.lucode.hackware.magicindicator.buildins.ColorRamp;
+import net.lucode.hackware.magicindicator.buildins.SampledInterpolator;
 import net.lucode.hackware.magicindicator.buildins.UIUtil;
-import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerIndicator;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IIncrementalPagerIndicator;
 import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionData;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionTable;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,7 +24,7 @@ import java.util.List;
  * 博客: http://hackware.lucode.net
  * Created by hackware on 2016/6/26.
  */
-public class LinePagerIndicator extends View implements IPagerIndicator {
+public class LinePagerIndicator extends View implements IIncrementalPagerIndicator {
     public static final int MODE_MATCH_EDGE = 0;   // 直线宽度 == title宽度 - 2 * mXOffset
     public static final int MODE_WRAP_CONTENT = 1;    // 直线宽度 == title内容宽度 - 2 * mXOffset
     public static final int MODE_EXACTLY = 2;  // 直线宽度 == mLineWidth
@@ -32,6 +34,8 @@ public class LinePagerIndicator extends View implements IPagerIndicator {
     // 控制动画
     private Interpolator mStartInterpolator = new LinearInterpolator();
     private Interpolator mEndInterpolator = new LinearInterpolator();
+    private Interpolator mSampledStartInterpolator = mStartInterpolator;  // 每帧求值时使用的采样版本，getter返回设置的原插值器
+    private Interpolator mSampledEndInterpolator = mEndInterpolator;
 
     private float mYOffset;   // 相对于底部的偏移量，如果你想让直线位于title上方，设置它即可
     private float mLineHeight;
@@ -40,10 +44,13 @@ public class LinePagerIndicator extends View implements IPagerIndicator {
     private float mRoundRadius;
 
     private Paint mPaint;
-    private List<PositionData> mPositionDataList;
+    private PositionTable mPositionTable = new PositionTable();
     private List<Integer> mColors;
+    private int mColorRampMode; // 默认为ColorRamp.MODE_NONE
+    private ColorRamp mColorRamp;
 
     private RectF mLineRect = new RectF();
+    private DirtyRegion mDirtyRegion = new DirtyRegion();
 
     public LinePagerIndicator(Context context) {
         super(context);
@@ -64,7 +71,7 @@ public class LinePagerIndicator extends View implements IPagerIndicator {
 
     @Override
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
-        if (mPositionDataList == null || mPositionDataList.isEmpty()) {
+        if (mPositionTable.isEmpty()) {
             return;
         }
 
@@ -72,41 +79,40 @@ public class LinePagerIndicator extends View implements IPagerIndicator {
         if (mColors != null && mColors.size() > 0) {
             int currentColor = mColors.get(Math.abs(position) % mColors.size());
             int nextColor = mColors.get(Math.abs(position + 1) % mColors.size());
-            int color = ArgbEvaluatorHolder.eval(positionOffset, currentColor, nextColor);
+            int color = evalColor(positionOffset, currentColor, nextColor);
             mPaint.setColor(color);
         }
 
         // 计算锚点位置
-        PositionData current = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position);
-        PositionData next = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position + 1);
+        int nextPosition = position + 1;
 
         float leftX;
         float nextLeftX;
         float rightX;
         float nextRightX;
         if (mMode == MODE_MATCH_EDGE) { // 指示器充满title宽度
-            leftX = current.mLeft + mXOffset;
-            nextLeftX = next.mLeft + mXOffset;
-            rightX = current.mRight - mXOffset;
-            nextRightX = next.mRight - mXOffset;
+            leftX = mPositionTable.getLeft(position) + mXOffset;
+            nextLeftX = mPositionTable.getLeft(nextPosition) + mXOffset;
+            rightX = mPositionTable.getRight(position) - mXOffset;
+            nextRightX = mPositionTable.getRight(nextPosition) - mXOffset;
         } else if (mMode == MODE_WRAP_CONTENT) { // 指示器包裹title内容的宽度
-            leftX = current.mContentLeft + mXOffset;
-            nextLeftX = next.mContentLeft + mXOffset;
-            rightX = current.mContentRight - mXOffset;
-            nextRightX = next.mContentRight - mXOffset;
+            leftX = mPositionTable.getContentLeft(position) + mXOffset;
+            nextLeftX = mPositionTable.getContentLeft(nextPosition) + mXOffset;
+            rightX = mPositionTable.getContentRight(position) - mXOffset;
+            nextRightX = mPositionTable.getContentRight(nextPosition) - mXOffset;
         } else {    // MODE_EXACTLY // 指定指示器精准的宽度
-            leftX = current.mLeft + (current.width() - mLineWidth) / 2;
-            nextLeftX = next.mLeft + (next.width() - mLineWidth) / 2;
-            rightX = current.mLeft + (current.width() + mLineWidth) / 2;
-            nextRightX = next.mLeft + (next.width() + mLineWidth) / 2;
+            leftX = mPositionTable.getLeft(position) + (mPositionTable.getWidth(position) - mLineWidth) / 2;
+            nextLeftX = mPositionTable.getLeft(nextPosition) + (mPositionTable.getWidth(nextPosition) - mLineWidth) / 2;
+            rightX = mPositionTable.getLeft(position) + (mPositionTable.getWidth(position) + mLineWidth) / 2;
+            nextRightX = mPositionTable.getLeft(nextPosition) + (mPositionTable.getWidth(nextPosition) + mLineWidth) / 2;
         }
         // 给指示器四个点赋值
-        mLineRect.left = leftX + (nextLeftX - leftX) * mStartInterpolator.getInterpolation(positionOffset);
-        mLineRect.right = rightX + (nextRightX - rightX) * mEndInterpolator.getInterpolation(positionOffset);
+        mLineRect.left = leftX + (nextLeftX - leftX) * mSampledStartInterpolator.getInterpolation(positionOffset);
+        mLineRect.right = rightX + (nextRightX - rightX) * mSampledEndInterpolator.getInterpolation(positionOffset);
         mLineRect.top = getHeight() - mLineHeight - mYOffset;
         mLineRect.bottom = getHeight() - mYOffset;
-        // 绘制
-        invalidate();
+        // 绘制，只刷新直线经过的区域
+        mDirtyRegion.invalidate(this, mLineRect.left, mLineRect.top, mLineRect.right, mLineRect.bottom, mPaint.getColor());
     }
 
     @Override
@@ -119,7 +125,12 @@ public class LinePagerIndicator extends View implements IPagerIndicator {
 
     @Override
     public void onPositionDataProvide(List<PositionData> dataList) {
-        mPositionDataList = dataList;
+        mPositionTable.update(dataList);
+    }
+
+    @Override
+    public void onPositionDataChanged(List<PositionData> dataList, int fromIndex, int toIndex) {
+        mPositionTable.update(dataList, fromIndex, toIndex);
     }
 
     public float getYOffset() {
@@ -160,6 +171,7 @@ public class LinePagerIndicator extends View implements IPagerIndicator {
 
     public void setRoundRadius(float roundRadius) {
         mRoundRadius = roundRadius;
+        mDirtyRegion.forceInvalidate();
     }
 
     public int getMode() {
@@ -186,6 +198,21 @@ public class LinePagerIndicator extends View implements IPagerIndicator {
         mColors = Arrays.asList(colors);
     }
 
+    public int getColorRampMode() {
+        return mColorRampMode;
+    }
+
+    /**
+     * 设置颜色渐变的计算方式，默认为ColorRamp.MODE_NONE
+     */
+    public void setColorRampMode(int colorRampMode) {
+        if (colorRampMode == ColorRamp.MODE_NONE || colorRampMode == ColorRamp.MODE_LINEAR || colorRampMode == ColorRamp.MODE_GAMMA) {
+            mColorRampMode = colorRampMode;
+        } else {
+            throw new IllegalArgumentException("color ramp mode " + colorRampMode + " not supported.");
+        }
+    }
+
     public Interpolator getStartInterpolator() {
         return mStartInterpolator;
     }
@@ -195,6 +222,7 @@ public class LinePagerIndicator extends View implements IPagerIndicator {
         if (mStartInterpolator == null) {
             mStartInterpolator = new LinearInterpolator();
         }
+        mSampledStartInterpolator = SampledInterpolator.of(mStartInterpolator);
     }
 
     public Interpolator getEndInterpolator() {
@@ -206,5 +234,14 @@ public class LinePagerIndicator extends View implements IPagerIndicator {
         if (mEndInterpolator == null) {
             mEndInterpolator = new LinearInterpolator();
         }
+        mSampledEndInterpolator = SampledInterpolator.of(mEndInterpolator);
+    }
+
+    private int evalColor(float fraction, int startColor, int endColor) {
+        if (mColorRampMode == ColorRamp.MODE_NONE) {
+            return ArgbEvaluatorHolder.eval(fraction, startColor, endColor);
+        }
+        mColorRamp = ColorRamp.obtain(mColorRamp, startColor, endColor, mColorRampMode == ColorRamp.MODE_GAMMA);
+        return mColorRamp.eval(fraction);
     }
 }
@@ -7,9 +7,9 @@ import android.graphics.Paint;
 import android.graphics.RectF;
 import android.view.View;
 
-import net.lucode.hackware.magicindicator.FragmentContainerHelper;
-import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerIndicator;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IIncrementalPagerIndicator;
 import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionData;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionTable;
 
 import java.util.List;
 
@@ -19,14 +19,15 @@ import java.util.List;
  * 博客: http://hackware.lucode.net
  * Created by hackware on 2016/6/26.
  */
-public class TestPagerIndicator extends View implements IPagerIndicator {
+public class TestPagerIndicator extends View implements IIncrementalPagerIndicator {
     private Paint mPaint;
     private int mOutRectColor;
     private int mInnerRectColor;
     private RectF mOutRect = new RectF();
     private RectF mInnerRect = new RectF();
+    private DirtyRegion mDirtyRegion = new DirtyRegion();
 
-    private List<PositionData> mPositionDataList;
+    private PositionTable mPositionTable = new PositionTable();
 
     public TestPagerIndicator(Context context) {
         super(context);
@@ -50,25 +51,26 @@ public class TestPagerIndicator extends View implements IPagerIndicator {
 
     @Override
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
-        if (mPositionDataList == null || mPositionDataList.isEmpty()) {
+        if (mPositionTable.isEmpty()) {
             return;
         }
 
         // 计算锚点位置
-        PositionData current = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position);
-        PositionData next = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position + 1);
+        int nextPosition = position + 1;
 
-        mOutRect.left = current.mLeft + (next.mLeft - current.mLeft) * positionOffset;
-        mOutRect.top = current.mTop + (next.mTop - current.mTop) * positionOffset;
-        mOutRect.right = current.mRight + (next.mRight - current.mRight) * positionOffset;
-        mOutRect.bottom = current.mBottom + (next.mBottom - current.mBottom) * positionOffset;
+        mOutRect.left = mPositionTable.getLeft(position) + (mPositionTable.getLeft(nextPosition) - mPositionTable.getLeft(position)) * positionOffset;
+        mOutRect.top = mPositionTable.getTop(position) + (mPositionTable.getTop(nextPosition) - mPositionTable.getTop(position)) * positionOffset;
+        mOutRect.right = mPositionTable.getRight(position) + (mPositionTable.getRight(nextPosition) - mPositionTable.getRight(position)) * positionOffset;
+        mOutRect.bottom = mPositionTable.getBottom(position) + (mPositionTable.getBottom(nextPosition) - mPositionTable.getBottom(position)) * positionOffset;
 
-        mInnerRect.left = current.mContentLeft + (next.mContentLeft - current.mContentLeft) * positionOffset;
-        mInnerRect.top = current.mContentTop + (next.mContentTop - current.mContentTop) * positionOffset;
-        mInnerRect.right = current.mContentRight + (next.mContentRight - current.mContentRight) * positionOffset;
-        mInnerRect.bottom = current.mContentBottom + (next.mContentBottom - current.mContentBottom) * positionOffset;
+        mInnerRect.left = mPositionTable.getContentLeft(position) + (mPositionTable.getContentLeft(nextPosition) - mPositionTable.getContentLeft(position)) * positionOffset;
+        mInnerRect.top = mPositionTable.getContentTop(position) + (mPositionTable.getContentTop(nextPosition) - mPositionTable.getContentTop(position)) * positionOffset;
+        mInnerRect.right = mPositionTable.getContentRight(position) + (mPositionTable.getContentRight(nextPosition) - mPositionTable.getContentRight(position)) * positionOffset;
+        mInnerRect.bottom = mPositionTable.getContentBottom(position) + (mPositionTable.getContentBottom(nextPosition) - mPositionTable.getContentBottom(position)) * positionOffset;
 
-        invalidate();
+        // 内容区域通常在title区域内，这里仍取并集
+        mDirtyRegion.invalidate(this, Math.min(mOutRect.left, mInnerRect.left), Math.min(mOutRect.top, mInnerRect.top),
+                Math.max(mOutRect.right, mInnerRect.right), Math.max(mOutRect.bottom, mInnerRect.bottom), mOutRectColor);
     }
 
     @Override
@@ -81,7 +83,12 @@ public class TestPagerIndicator extends View implements IPagerIndicator {
 
     @Override
     public void onPositionDataProvide(List<PositionData> dataList) {
-        mPositionDataList = dataList;
+        mPositionTable.update(dataList);
+    }
+
+    @Override
+    public void onPositionDataChanged(List<PositionData> dataList, int fromIndex, int toIndex) {
+        mPositionTable.update(dataList, fromIndex, toIndex);
     }
 
     public int getOutRectColor() {
@@ -98,5 +105,6 @@ public class TestPagerIndicator extends View implements IPagerIndicator {
 
     public void setInnerRectColor(int innerRectColor) {
         mInnerRectColor = innerRectColor;
+        mDirtyRegion.forceInvalidate();
     }
 }
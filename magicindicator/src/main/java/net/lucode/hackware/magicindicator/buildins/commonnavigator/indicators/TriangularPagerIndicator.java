@@ -8,10 +8,11 @@ import android.view.View;
 import android.view.animation.Interpolator;
 import android.view.animation.LinearInterpolator;
 
-import net.lucode.hackware.magicindicator.FragmentContainerHelper;
+import net.lucode.hackware.magicindicator.buildins.SampledInterpolator;
 import net.lucode.hackware.magicindicator.buildins.UIUtil;
-import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerIndicator;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IIncrementalPagerIndicator;
 import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionData;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionTable;
 
 import java.util.List;
 
@@ -20,8 +21,8 @@ import java.util.List;
  * 博客: http://hackware.lucode.net
  * Created by hackware on 2016/6/26.
  */
-public class TriangularPagerIndicator extends View implements IPagerIndicator {
-    private List<PositionData> mPositionDataList;
+public class TriangularPagerIndicator extends View implements IIncrementalPagerIndicator {
+    private PositionTable mPositionTable = new PositionTable();
     private Paint mPaint;
     private int mLineHeight;
     private int mLineColor;
@@ -32,7 +33,10 @@ public class TriangularPagerIndicator extends View implements IPagerIndicator {
 
     private Path mPath = new Path();
     private Interpolator mStartInterpolator = new LinearInterpolator();
+    private Interpolator mSampledStartInterpolator = mStartInterpolator;  // 每帧求值时使用的采样版本，getter返回设置的原插值器
     private float mAnchorX;
+    private DirtyRegion mDirtyRegion = new DirtyRegion();
+    private int mDrawnLineColor;
 
     public TriangularPagerIndicator(Context context) {
         super(context);
@@ -71,20 +75,26 @@ public class TriangularPagerIndicator extends View implements IPagerIndicator {
 
     @Override
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
-        if (mPositionDataList == null || mPositionDataList.isEmpty()) {
+        if (mPositionTable.isEmpty()) {
             return;
         }
 
         // 计算锚点位置
-        PositionData current = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position);
-        PositionData next = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position + 1);
+        int nextPosition = position + 1;
 
-        float leftX = current.mLeft + (current.mRight - current.mLeft) / 2;
-        float rightX = next.mLeft + (next.mRight - next.mLeft) / 2;
+        float leftX = mPositionTable.getHorizontalCenter(position);
+        float rightX = mPositionTable.getHorizontalCenter(nextPosition);
 
-        mAnchorX = leftX + (rightX - leftX) * mStartInterpolator.getInterpolation(positionOffset);
+        mAnchorX = leftX + (rightX - leftX) * mSampledStartInterpolator.getInterpolation(positionOffset);
 
-        invalidate();
+        if (mDrawnLineColor != mLineColor) {
+            // 直线横跨整个指示器，颜色变化时需要全部刷新
+            mDrawnLineColor = mLineColor;
+            mDirtyRegion.forceInvalidate();
+            invalidate();
+        }
+        // 只有小尖角会移动
+        mDirtyRegion.invalidate(this, mAnchorX - mTriangleWidth / 2, 0, mAnchorX + mTriangleWidth / 2, getHeight(), mLineColor);
     }
 
     @Override
@@ -97,7 +107,12 @@ public class TriangularPagerIndicator extends View implements IPagerIndicator {
 
     @Override
     public void onPositionDataProvide(List<PositionData> dataList) {
-        mPositionDataList = dataList;
+        mPositionTable.update(dataList);
+    }
+
+    @Override
+    public void onPositionDataChanged(List<PositionData> dataList, int fromIndex, int toIndex) {
+        mPositionTable.update(dataList, fromIndex, toIndex);
     }
 
     public int getLineHeight() {
@@ -106,6 +121,8 @@ public class TriangularPagerIndicator extends View implements IPagerIndicator {
 
     public void setLineHeight(int lineHeight) {
         mLineHeight = lineHeight;
+        mDirtyRegion.forceInvalidate();
+        invalidate();
     }
 
     public int getLineColor() {
@@ -122,6 +139,8 @@ public class TriangularPagerIndicator extends View implements IPagerIndicator {
 
     public void setTriangleHeight(int triangleHeight) {
         mTriangleHeight = triangleHeight;
+        mDirtyRegion.forceInvalidate();
+        invalidate();
     }
 
     public int getTriangleWidth() {
@@ -130,6 +149,8 @@ public class TriangularPagerIndicator extends View implements IPagerIndicator {
 
     public void setTriangleWidth(int triangleWidth) {
         mTriangleWidth = triangleWidth;
+        mDirtyRegion.forceInvalidate();
+        invalidate();
     }
 
     public Interpolator getStartInterpolator() {
@@ -141,6 +162,7 @@ public class TriangularPagerIndicator extends View implements IPagerIndicator {
         if (mStartInterpolator == null) {
             mStartInterpolator = new LinearInterpolator();
         }
+        mSampledStartInterpolator = SampledInterpolator.of(mStartInterpolator);
     }
 
     public boolean isReverse() {
@@ -149,6 +171,8 @@ public class TriangularPagerIndicator extends View implements IPagerIndicator {
 
     public void setReverse(boolean reverse) {
         mReverse = reverse;
+        mDirtyRegion.forceInvalidate();
+        invalidate();
     }
 
     public float getYOffset() {
@@ -157,5 +181,7 @@ public class TriangularPagerIndicator extends View implements IPagerIndicator {
 
     public void setYOffset(float yOffset) {
         mYOffset = yOffset;
+        mDirtyRegion.forceInvalidate();
+        invalidate();
     }
 }
@@ -8,10 +8,11 @@ import android.view.View;
 import android.view.animation.Interpolator;
 import android.view.animation.LinearInterpolator;
 
-import net.lucode.hackware.magicindicator.FragmentContainerHelper;
+import net.lucode.hackware.magicindicator.buildins.SampledInterpolator;
 import net.lucode.hackware.magicindicator.buildins.UIUtil;
-import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerIndicator;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IIncrementalPagerIndicator;
 import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionData;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionTable;
 
 import java.util.List;
 
@@ -21,18 +22,21 @@ import java.util.List;
  * 博客: http://hackware.lucode.net
  * Created by hackware on 2016/6/26.
  */
-public class WrapPagerIndicator extends View implements IPagerIndicator {
+public class WrapPagerIndicator extends View implements IIncrementalPagerIndicator {
     private int mVerticalPadding;
     private int mHorizontalPadding;
     private int mFillColor;
     private float mRoundRadius;
     private Interpolator mStartInterpolator = new LinearInterpolator();
     private Interpolator mEndInterpolator = new LinearInterpolator();
+    private Interpolator mSampledStartInterpolator = mStartInterpolator;  // 每帧求值时使用的采样版本，getter返回设置的原插值器
+    private Interpolator mSampledEndInterpolator = mEndInterpolator;
 
-    private List<PositionData> mPositionDataList;
+    private PositionTable mPositionTable = new PositionTable();
     private Paint mPaint;
 
     private RectF mRect = new RectF();
+    private DirtyRegion mDirtyRegion = new DirtyRegion();
     private boolean mRoundRadiusSet;
 
     public WrapPagerIndicator(Context context) {
@@ -55,24 +59,23 @@ public class WrapPagerIndicator extends View implements IPagerIndicator {
 
     @Override
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
-        if (mPositionDataList == null || mPositionDataList.isEmpty()) {
+        if (mPositionTable.isEmpty()) {
             return;
         }
 
         // 计算锚点位置
-        PositionData current = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position);
-        PositionData next = FragmentContainerHelper.getImitativePositionData(mPositionDataList, position + 1);
+        int nextPosition = position + 1;
 
-        mRect.left = current.mContentLeft - mHorizontalPadding + (next.mContentLeft - current.mContentLeft) * mEndInterpolator.getInterpolation(positionOffset);
-        mRect.top = current.mContentTop - mVerticalPadding;
-        mRect.right = current.mContentRight + mHorizontalPadding + (next.mContentRight - current.mContentRight) * mStartInterpolator.getInterpolation(positionOffset);
-        mRect.bottom = current.mContentBottom + mVerticalPadding;
+        mRect.left = mPositionTable.getContentLeft(position) - mHorizontalPadding + (mPositionTable.getContentLeft(nextPosition) - mPositionTable.getContentLeft(position)) * mSampledEndInterpolator.getInterpolation(positionOffset);
+        mRect.top = mPositionTable.getContentTop(position) - mVerticalPadding;
+        mRect.right = mPositionTable.getContentRight(position) + mHorizontalPadding + (mPositionTable.getContentRight(nextPosition) - mPositionTable.getContentRight(position)) * mSampledStartInterpolator.getInterpolation(positionOffset);
+        mRect.bottom = mPositionTable.getContentBottom(position) + mVerticalPadding;
 
         if (!mRoundRadiusSet) {
             mRoundRadius = mRect.height() / 2;
         }
 
-        invalidate();
+        mDirtyRegion.invalidate(this, mRect.left, mRect.top, mRect.right, mRect.bottom, mFillColor);
     }
 
     @Override
@@ -85,7 +88,12 @@ public class WrapPagerIndicator extends View implements IPagerIndicator {
 
     @Override
     public void onPositionDataProvide(List<PositionData> dataList) {
-        mPositionDataList = dataList;
+        mPositionTable.update(dataList);
+    }
+
+    @Override
+    public void onPositionDataChanged(List<PositionData> dataList, int fromIndex, int toIndex) {
+        mPositionTable.update(dataList, fromIndex, toIndex);
     }
 
     public Paint getPaint() {
@@ -123,6 +131,7 @@ public class WrapPagerIndicator extends View implements IPagerIndicator {
     public void setRoundRadius(float roundRadius) {
         mRoundRadius = roundRadius;
         mRoundRadiusSet = true;
+        mDirtyRegion.forceInvalidate();
     }
 
     public Interpolator getStartInterpolator() {
@@ -134,6 +143,7 @@ public class WrapPagerIndicator extends View implements IPagerIndicator {
         if (mStartInterpolator == null) {
             mStartInterpolator = new LinearInterpolator();
         }
+        mSampledStartInterpolator = SampledInterpolator.of(mStartInterpolator);
     }
 
     public Interpolator getEndInterpolator() {
@@ -145,5 +155,6 @@ public class WrapPagerIndicator extends View implements IPagerIndicator {
         if (mEndInterpolator == null) {
             mEndInterpolator = new LinearInterpolator();
         }
+        mSampledEndInterpolator = SampledInterpolator.of(mEndInterpolator);
     }
 }
@@ -0,0 +1,169 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator.model;
+
+import java.util.List;
+
+/**
+ * 以基本类型数组保存所有title的坐标，同时预先计算好宽度和水平中心，供指示器在onPageScrolled中读取
+ * 通过update()从List&lt;PositionData&gt;转换而来，IPagerIndicator的接口保持不变
+ * 越界下标会按第一个或最后一个title的宽度向外推算，与FragmentContainerHelper.getImitativePositionData一致，且不会产生对象
+ */
+public class PositionTable {
+    private int mCount;
+
+    // 控件四个点的坐标
+    private int[] mLeft = new int[0];
+    private int[] mTop = new int[0];
+    private int[] mRight = new int[0];
+    private int[] mBottom = new int[0];
+    // 内容四个点的坐标
+    private int[] mContentLeft = new int[0];
+    private int[] mContentTop = new int[0];
+    private int[] mContentRight = new int[0];
+    private int[] mContentBottom = new int[0];
+    // 预先计算的值
+    private int[] mWidth = new int[0];
+    private int[] mHorizontalCenter = new int[0];
+
+    /**
+     * 全量转换
+     */
+    public void update(List<PositionData> dataList) {
+        int count = dataList == null ? 0 : dataList.size();
+        setCount(count);
+        for (int i = 0; i < count; i++) {
+            set(i, dataList.get(i));
+        }
+    }
+
+    /**
+     * 只转换发生变化的区间，数量不一致时全量转换
+     *
+     * @param toIndex 包含
+     */
+    public void update(List<PositionData> dataList, int fromIndex, int toIndex) {
+        if (dataList == null || dataList.size() != mCount) {
+            update(dataList);
+            return;
+        }
+        for (int i = Math.max(0, fromIndex), j = Math.min(mCount - 1, toIndex); i <= j; i++) {
+            set(i, dataList.get(i));
+        }
+    }
+
+    public void set(int index, PositionData data) {
+        mLeft[index] = data.mLeft;
+        mTop[index] = data.mTop;
+        mRight[index] = data.mRight;
+        mBottom[index] = data.mBottom;
+        mContentLeft[index] = data.mContentLeft;
+        mContentTop[index] = data.mContentTop;
+        mContentRight[index] = data.mContentRight;
+        mContentBottom[index] = data.mContentBottom;
+        mWidth[index] = data.width();
+        mHorizontalCenter[index] = data.horizontalCenter();
+    }
+
+    public int size() {
+        return mCount;
+    }
+
+    public boolean isEmpty() {
+        return mCount == 0;
+    }
+
+    public int getLeft(int index) {
+        return extrapolate(mLeft, index);
+    }
+
+    public int getTop(int index) {
+        return clamp(mTop, index);
+    }
+
+    public int getRight(int index) {
+        return extrapolate(mRight, index);
+    }
+
+    public int getBottom(int index) {
+        return clamp(mBottom, index);
+    }
+
+    public int getContentLeft(int index) {
+        return extrapolate(mContentLeft, index);
+    }
+
+    public int getContentTop(int index) {
+        return clamp(mContentTop, index);
+    }
+
+    public int getContentRight(int index) {
+        return extrapolate(mContentRight, index);
+    }
+
+    public int getContentBottom(int index) {
+        return clamp(mContentBottom, index);
+    }
+
+    public int getWidth(int index) {
+        return clamp(mWidth, index);
+    }
+
+    public int getHorizontalCenter(int index) {
+        return extrapolate(mHorizontalCenter, index);
+    }
+
+    /**
+     * 将index处(可以越界)的坐标写入out
+     */
+    public void getPositionData(int index, PositionData out) {
+        out.mLeft = getLeft(index);
+        out.mTop = getTop(index);
+        out.mRight = getRight(index);
+        out.mBottom = getBottom(index);
+        out.mContentLeft = getContentLeft(index);
+        out.mContentTop = getContentTop(index);
+        out.mContentRight = getContentRight(index);
+        out.mContentBottom = getContentBottom(index);
+    }
+
+    private void setCount(int count) {
+        if (mLeft.length < count) {
+            mLeft = new int[count];
+            mTop = new int[count];
+            mRight = new int[count];
+            mBottom = new int[count];
+            mContentLeft = new int[count];
+            mContentTop = new int[count];
+            mContentRight = new int[count];
+            mContentBottom = new int[count];
+            mWidth = new int[count];
+            mHorizontalCenter = new int[count];
+        }
+        mCount = count;
+    }
+
+    /**
+     * 水平方向的值，越界时按参考title的宽度平移
+     */
+    private int extrapolate(int[] values, int index) {
+        if (mCount == 0) {
+            return 0;
+        }
+        if (index < 0) {
+            return values[0] + index * mWidth[0];
+        }
+        if (index >= mCount) {
+            return values[mCount - 1] + (index - mCount + 1) * mWidth[mCount - 1];
+        }
+        return values[index];
+    }
+
+    /**
+     * 竖直方向的值及宽度，越界时取参考title的值
+     */
+    private int clamp(int[] values, int index) {
+        if (mCount == 0) {
+            return 0;
+        }
+        return values[Math.max(0, Math.min(mCount - 1, index))];
+    }
+}
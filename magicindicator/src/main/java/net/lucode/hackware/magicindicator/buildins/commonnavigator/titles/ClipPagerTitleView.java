@@ -3,7 +3,6 @@ package net.lucode.hackware.magicindicator.buildins.commonnavigator.titles;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Paint;
-import android.graphics.Rect;
 import android.view.View;
 
 import net.lucode.hackware.magicindicator.buildins.UIUtil;
@@ -22,7 +21,7 @@ public class ClipPagerTitleView extends View implements IMeasurablePagerTitleVie
     private float mClipPercent;
 
     private Paint mPaint;
-    private Rect mTextBounds = new Rect();
+    private TextMetrics mTextMetrics = new TextMetrics();
 
     public ClipPagerTitleView(Context context) {
         super(context);
@@ -49,11 +48,11 @@ public class ClipPagerTitleView extends View implements IMeasurablePagerTitleVie
         int result = size;
         switch (mode) {
             case MeasureSpec.AT_MOST:
-                int width = mTextBounds.width() + getPaddingLeft() + getPaddingRight();
+                int width = mTextMetrics.getTextWidth() + getPaddingLeft() + getPaddingRight();
                 result = Math.min(width, size);
                 break;
             case MeasureSpec.UNSPECIFIED:
-                result = mTextBounds.width() + getPaddingLeft() + getPaddingRight();
+                result = mTextMetrics.getTextWidth() + getPaddingLeft() + getPaddingRight();
                 break;
             default:
                 break;
@@ -67,11 +66,11 @@ public class ClipPagerTitleView extends View implements IMeasurablePagerTitleVie
         int result = size;
         switch (mode) {
             case MeasureSpec.AT_MOST:
-                int height = mTextBounds.height() + getPaddingTop() + getPaddingBottom();
+                int height = mTextMetrics.getTextHeight() + getPaddingTop() + getPaddingBottom();
                 result = Math.min(height, size);
                 break;
             case MeasureSpec.UNSPECIFIED:
-                result = mTextBounds.height() + getPaddingTop() + getPaddingBottom();
+                result = mTextMetrics.getTextHeight() + getPaddingTop() + getPaddingBottom();
                 break;
             default:
                 break;
@@ -81,8 +80,8 @@ public class ClipPagerTitleView extends View implements IMeasurablePagerTitleVie
 
     @Override
     protected void onDraw(Canvas canvas) {
-        int x = (getWidth() - mTextBounds.width()) / 2;
-        Paint.FontMetrics fontMetrics = mPaint.getFontMetrics();
+        int x = (getWidth() - mTextMetrics.getTextWidth()) / 2;
+        Paint.FontMetrics fontMetrics = mTextMetrics.getFontMetrics();
         int y = (int) ((getHeight() - fontMetrics.bottom - fontMetrics.top) / 2);
 
         // 画底层
@@ -124,7 +123,7 @@ public class ClipPagerTitleView extends View implements IMeasurablePagerTitleVie
     }
 
     private void measureTextBounds() {
-        mPaint.getTextBounds(mText, 0, mText == null ? 0 : mText.length(), mTextBounds);
+        mTextMetrics.update(mPaint, mText);
     }
 
     public String getText() {
@@ -165,27 +164,25 @@ public class ClipPagerTitleView extends View implements IMeasurablePagerTitleVie
 
     @Override
     public int getContentLeft() {
-        int contentWidth = mTextBounds.width();
+        int contentWidth = mTextMetrics.getTextWidth();
         return getLeft() + getWidth() / 2 - contentWidth / 2;
     }
 
     @Override
     public int getContentTop() {
-        Paint.FontMetrics metrics = mPaint.getFontMetrics();
-        float contentHeight = metrics.bottom - metrics.top;
+        float contentHeight = mTextMetrics.getFontHeight();
         return (int) (getHeight() / 2 - contentHeight / 2);
     }
 
     @Override
     public int getContentRight() {
-        int contentWidth = mTextBounds.width();
+        int contentWidth = mTextMetrics.getTextWidth();
         return getLeft() + getWidth() / 2 + contentWidth / 2;
     }
 
     @Override
     public int getContentBottom() {
-        Paint.FontMetrics metrics = mPaint.getFontMetrics();
-        float contentHeight = metrics.bottom - metrics.top;
+        float contentHeight = mTextMetrics.getFontHeight();
         return (int) (getHeight() / 2 + contentHeight / 2);
     }
 }
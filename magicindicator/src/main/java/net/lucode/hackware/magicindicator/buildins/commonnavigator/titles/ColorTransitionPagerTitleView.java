@@ -3,6 +3,7 @@ package net.lucode.hackware.magicindicator.buildins.commonnavigator.titles;
 import android.content.Context;
 
 import net.lucode.hackware.magicindicator.buildins.ArgbEvaluatorHolder;
+import net.lucode.hackware.magicindicator.buildins.ColorRamp;
 
 
 /**
@@ -11,6 +12,8 @@ import net.lucode.hackware.magicindicator.buildins.ArgbEvaluatorHolder;
  * Created by hackware on 2016/6/26.
  */
 public class ColorTransitionPagerTitleView extends SimplePagerTitleView {
+    private int mColorRampMode; // 默认为ColorRamp.MODE_NONE
+    private ColorRamp mColorRamp;
 
     public ColorTransitionPagerTitleView(Context context) {
         super(context);
@@ -18,13 +21,23 @@ public class ColorTransitionPagerTitleView extends SimplePagerTitleView {
 
     @Override
     public void onLeave(int index, int totalCount, float leavePercent, boolean leftToRight) {
-        int color = ArgbEvaluatorHolder.eval(leavePercent, mSelectedColor, mNormalColor);
+        int color;
+        if (mColorRampMode == ColorRamp.MODE_NONE) {
+            color = ArgbEvaluatorHolder.eval(leavePercent, mSelectedColor, mNormalColor);
+        } else {
+            color = obtainColorRamp().eval(1.0f - leavePercent);
+        }
         setTextColor(color);
     }
 
     @Override
     public void onEnter(int index, int totalCount, float enterPercent, boolean leftToRight) {
-        int color = ArgbEvaluatorHolder.eval(enterPercent, mNormalColor, mSelectedColor);
+        int color;
+        if (mColorRampMode == ColorRamp.MODE_NONE) {
+            color = ArgbEvaluatorHolder.eval(enterPercent, mNormalColor, mSelectedColor);
+        } else {
+            color = obtainColorRamp().eval(enterPercent);
+        }
         setTextColor(color);
     }
 
@@ -35,4 +48,27 @@ public class ColorTransitionPagerTitleView extends SimplePagerTitleView {
     @Override
     public void onDeselected(int index, int totalCount) {
     }
+
+    public int getColorRampMode() {
+        return mColorRampMode;
+    }
+
+    /**
+     * 设置颜色渐变的计算方式，默认为ColorRamp.MODE_NONE
+     */
+    public void setColorRampMode(int colorRampMode) {
+        if (colorRampMode == ColorRamp.MODE_NONE || colorRampMode == ColorRamp.MODE_LINEAR || colorRampMode == ColorRamp.MODE_GAMMA) {
+            mColorRampMode = colorRampMode;
+        } else {
+            throw new IllegalArgumentException("color ramp mode " + colorRampMode + " not supported.");
+        }
+    }
+
+    /**
+     * 渐变表固定为mNormalColor到mSelectedColor，进入、离开共用同一张表
+     */
+    private ColorRamp obtainColorRamp() {
+        mColorRamp = ColorRamp.obtain(mColorRamp, mNormalColor, mSelectedColor, mColorRampMode == ColorRamp.MODE_GAMMA);
+        return mColorRamp;
+    }
 }
@@ -16,6 +16,7 @@ import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IMeasurab
 public class CommonPagerTitleView extends FrameLayout implements IMeasurablePagerTitleView {
     private OnPagerTitleChangeListener mOnPagerTitleChangeListener;
     private ContentPositionDataProvider mContentPositionDataProvider;
+    private TextMetrics mTextMetrics = new TextMetrics();
 
     public CommonPagerTitleView(Context context) {
         super(context);
@@ -121,6 +122,14 @@ public class CommonPagerTitleView extends FrameLayout implements IMeasurablePage
         mContentPositionDataProvider = contentPositionDataProvider;
     }
 
+    /**
+     * 供ContentPositionDataProvider使用的文本测量缓存，先调用update(textView.getPaint(), textView.getText())，
+     * 再读取getTextWidth()等结果，内容未变化时不会重新测量
+     */
+    public TextMetrics getTextMetrics() {
+        return mTextMetrics;
+    }
+
     public interface OnPagerTitleChangeListener {
         void onSelected(int index, int totalCount);
 
@@ -1,8 +1,6 @@
 package net.lucode.hackware.magicindicator.buildins.commonnavigator.titles;
 
 import android.content.Context;
-import android.graphics.Paint;
-import android.graphics.Rect;
 import android.text.TextUtils;
 import android.view.Gravity;
 import android.widget.TextView;
@@ -19,6 +17,7 @@ import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IMeasurab
 public class SimplePagerTitleView extends TextView implements IMeasurablePagerTitleView {
     protected int mSelectedColor;
     protected int mNormalColor;
+    private TextMetrics mTextMetrics = new TextMetrics();
 
     public SimplePagerTitleView(Context context) {
         super(context, null);
@@ -53,34 +52,36 @@ public class SimplePagerTitleView extends TextView implements IMeasurablePagerTi
 
     @Override
     public int getContentLeft() {
-        Rect bound = new Rect();
-        getPaint().getTextBounds(getText().toString(), 0, getText().length(), bound);
-        int contentWidth = bound.width();
+        int contentWidth = getTextMetrics().getTextWidth();
         return getLeft() + getWidth() / 2 - contentWidth / 2;
     }
 
     @Override
     public int getContentTop() {
-        Paint.FontMetrics metrics = getPaint().getFontMetrics();
-        float contentHeight = metrics.bottom - metrics.top;
+        float contentHeight = getTextMetrics().getFontHeight();
         return (int) (getHeight() / 2 - contentHeight / 2);
     }
 
     @Override
     public int getContentRight() {
-        Rect bound = new Rect();
-        getPaint().getTextBounds(getText().toString(), 0, getText().length(), bound);
-        int contentWidth = bound.width();
+        int contentWidth = getTextMetrics().getTextWidth();
         return getLeft() + getWidth() / 2 + contentWidth / 2;
     }
 
     @Override
     public int getContentBottom() {
-        Paint.FontMetrics metrics = getPaint().getFontMetrics();
-        float contentHeight = metrics.bottom - metrics.top;
+        float contentHeight = getTextMetrics().getFontHeight();
         return (int) (getHeight() / 2 + contentHeight / 2);
     }
 
+    /**
+     * @return 当前文本的测量结果，文本或画笔属性未变化时不会重新测量
+     */
+    public TextMetrics getTextMetrics() {
+        mTextMetrics.update(getPaint(), getText());
+        return mTextMetrics;
+    }
+
     public int getSelectedColor() {
         return mSelectedColor;
     }
@@ -0,0 +1,245 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator.titles;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 进程内共享的文本测量结果，按文本及TextStyle中的样式(字号、字体、倾斜、字间距、字体特性、标记、语言)保存，
+ * 多个MagicIndicator中相同的文字只需测量一次
+ * 每条结果包含文字边界、宽度(measureText)和FontMetrics，按LRU淘汰，可通过命中计数调整容量
+ * 可在后台线程通过preMeasure()预先测量，样式与title不一致时预测量的结果不会被用到，可通过getPreMeasureHitCount()检查
+ * 设置了TextMeasureDiskCache时未命中的结果会先从文件中查找
+ * 所有方法都是线程安全的
+ */
+public final class TextMeasureCache {
+    public static final int DEFAULT_MAX_SIZE = 512;
+
+    private static final Object sLock = new Object();
+    private static final LinkedHashMap<Key, Entry> sEntries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > sMaxSize;
+        }
+    };
+    private static int sMaxSize = DEFAULT_MAX_SIZE;
+    private static long sHitCount;
+    private static long sMissCount;
+    private static long sPreMeasureCount;
+    private static long sPreMeasureHitCount;
+    private static volatile TextMeasureDiskCache sDiskCache;
+
+    private TextMeasureCache() {
+    }
+
+    /**
+     * 获取文字边界和FontMetrics，未命中时在当前线程测量并保存
+     */
+    public static void get(Paint paint, String text, Rect outBounds, Paint.FontMetrics outFontMetrics) {
+        Entry entry = obtain(paint, text);
+        outBounds.set(entry.mBounds);
+        outFontMetrics.top = entry.mFontMetrics.top;
+        outFontMetrics.ascent = entry.mFontMetrics.ascent;
+        outFontMetrics.descent = entry.mFontMetrics.descent;
+        outFontMetrics.bottom = entry.mFontMetrics.bottom;
+        outFontMetrics.leading = entry.mFontMetrics.leading;
+    }
+
+    /**
+     * @return 文字宽度，即Paint.measureText()的结果，未命中时在当前线程测量并保存
+     */
+    public static float getWidth(Paint paint, String text) {
+        return obtain(paint, text).mWidth;
+    }
+
+    /**
+     * 测量并保存，已有结果时不做处理，不计入命中计数，可在后台线程调用，paint不能同时被其他线程使用
+     */
+    public static void preMeasure(Paint paint, String text) {
+        if (text == null) {
+            return;
+        }
+        Key key = new Key(paint, text);
+        synchronized (sLock) {
+            if (sEntries.containsKey(key)) {
+                return;
+            }
+        }
+        Entry entry = load(paint, text);
+        entry.mPreMeasured = true;
+        synchronized (sLock) {
+            sEntries.put(key, entry);
+            sPreMeasureCount++;
+        }
+    }
+
+    private static Entry obtain(Paint paint, String text) {
+        Key key = new Key(paint, text);
+        Entry entry;
+        synchronized (sLock) {
+            entry = sEntries.get(key);
+            if (entry != null) {
+                sHitCount++;
+                if (entry.mPreMeasured) {
+                    entry.mPreMeasured = false;
+                    sPreMeasureHitCount++;
+                }
+                return entry;
+            }
+            sMissCount++;
+        }
+        entry = load(paint, text);
+        synchronized (sLock) {
+            sEntries.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * 优先从文件中读取，否则测量并记录到文件中
+     */
+    private static Entry load(Paint paint, String text) {
+        Entry entry = new Entry();
+        TextMeasureDiskCache diskCache = sDiskCache;
+        if (diskCache != null && diskCache.get(paint, text, entry)) {
+            return entry;
+        }
+        paint.getTextBounds(text, 0, text.length(), entry.mBounds);
+        paint.getFontMetrics(entry.mFontMetrics);
+        entry.mWidth = paint.measureText(text);
+        if (diskCache != null) {
+            diskCache.put(paint, text, entry);
+        }
+        return entry;
+    }
+
+    public static TextMeasureDiskCache getDiskCache() {
+        return sDiskCache;
+    }
+
+    /**
+     * 设置持久化的测量结果，传null关闭，已在内存中的结果不受影响
+     */
+    public static void setDiskCache(TextMeasureDiskCache diskCache) {
+        sDiskCache = diskCache;
+    }
+
+    public static int getMaxSize() {
+        synchronized (sLock) {
+            return sMaxSize;
+        }
+    }
+
+    /**
+     * 设置最多保存的结果数量，超出时淘汰最久未使用的结果
+     */
+    public static void setMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive.");
+        }
+        synchronized (sLock) {
+            sMaxSize = maxSize;
+            while (sEntries.size() > maxSize) {
+                sEntries.remove(sEntries.keySet().iterator().next());
+            }
+        }
+    }
+
+    public static int size() {
+        synchronized (sLock) {
+            return sEntries.size();
+        }
+    }
+
+    public static long getHitCount() {
+        synchronized (sLock) {
+            return sHitCount;
+        }
+    }
+
+    public static long getMissCount() {
+        synchronized (sLock) {
+            return sMissCount;
+        }
+    }
+
+    /**
+     * @return 0.0f - 1.0f，尚未查找过时为0.0f
+     */
+    public static float getHitRate() {
+        synchronized (sLock) {
+            long total = sHitCount + sMissCount;
+            return total == 0 ? 0.0f : (float) sHitCount / total;
+        }
+    }
+
+    /**
+     * @return 通过preMeasure()保存的结果数量
+     */
+    public static long getPreMeasureCount() {
+        synchronized (sLock) {
+            return sPreMeasureCount;
+        }
+    }
+
+    /**
+     * @return 预测量的结果中被用到的数量，远小于getPreMeasureCount()时说明预测量的样式与title不一致
+     */
+    public static long getPreMeasureHitCount() {
+        synchronized (sLock) {
+            return sPreMeasureHitCount;
+        }
+    }
+
+    public static void resetStats() {
+        synchronized (sLock) {
+            sHitCount = 0;
+            sMissCount = 0;
+            sPreMeasureCount = 0;
+            sPreMeasureHitCount = 0;
+        }
+    }
+
+    public static void clear() {
+        synchronized (sLock) {
+            sEntries.clear();
+        }
+    }
+
+    private static final class Key {
+        private final String mText;
+        private final TextStyle mStyle;
+
+        Key(Paint paint, String text) {
+            mText = text;
+            mStyle = new TextStyle(paint);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return mText.equals(key.mText) && mStyle.equals(key.mStyle);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mText.hashCode() + mStyle.hashCode();
+        }
+    }
+
+    static final class Entry {
+        final Rect mBounds = new Rect();
+        final Paint.FontMetrics mFontMetrics = new Paint.FontMetrics();
+        float mWidth;
+        boolean mPreMeasured;   // 由preMeasure()保存且尚未被用到，保存后只在sLock中访问
+        int mTextHash;  // 文字的String.hashCode()，只由TextMeasureDiskCache用于校验哈希碰撞
+    }
+}
@@ -0,0 +1,413 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator.titles;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.content.res.Configuration;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.os.Build;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 持久化的文本测量结果，使冷启动时无需重新测量大量title，通过TextMeasureCache.setDiskCache()开启
+ * 文件为按key排序的定长记录，读取时内存映射并二分查找，新的测量结果在线程池中合并写回
+ * 文件头记录字体缩放、屏幕密度、语言、系统版本(Build.FINGERPRINT)和应用版本，任一变化时整个文件失效，
+ * 系统更新可能更换字体，应用更新可能更换字体或样式；运行中配置变化后应重新创建并设置
+ * 每条记录保存最后一次写回时被用到的代数，超出MAX_RECORDS时淘汰最久没有用到的记录
+ * key为文字及TextStyle中全部样式的64位哈希，与内存中的TextMeasureCache使用同一组属性，
+ * 记录中另存文字的String.hashCode()，读取时校验以排除64位哈希碰撞
+ * 只有未设置字体或使用系统默认字体(Typeface.DEFAULT等)的文字才会被持久化
+ */
+public class TextMeasureDiskCache {
+    private static final int MAGIC = 0x4D495443;
+    private static final int VERSION = 4;
+    // magic, version, fontScale, density, locale, fingerprint, versionCode, lastUpdateTime(8), generation, count
+    private static final int HEADER_SIZE = 44;
+    private static final int RECORD_SIZE = 56;  // key, bounds(4), fontMetrics(5), width, generation, textHash
+    private static final int MAX_RECORDS = 4096;
+
+    private final File mFile;
+    private final Executor mExecutor;
+    private final float mFontScale;
+    private final float mDensity;
+    private final int mLocaleHash;
+    private final int mFingerprintHash;
+    private final int mVersionCode;
+    private final long mLastUpdateTime;
+
+    private final Object mLock = new Object();
+    private final Object mFileLock = new Object();  // 写回与clear()互斥，保证clear()之后不会再写入旧的结果
+    private ByteBuffer mMapped; // 只读，文件不存在或已失效时为null
+    private int mMappedCount;
+    private int mMappedGeneration;
+    private final Map<Long, TextMeasureCache.Entry> mPending = new HashMap<Long, TextMeasureCache.Entry>();
+    private final Set<Long> mTouched = new HashSet<Long>(); // 上次写回后从文件中命中的key，写回时更新其代数
+    private boolean mWriteScheduled;
+
+    private Runnable mWriteRunnable = new Runnable() {
+        @Override
+        public void run() {
+            write();
+        }
+    };
+
+    /**
+     * 会同步映射已有的文件，通常在Application.onCreate中创建
+     *
+     * @param file     缓存文件，如new File(context.getCacheDir(), "title_metrics")
+     * @param executor 写回文件的线程池
+     */
+    public TextMeasureDiskCache(Context context, File file, Executor executor) {
+        mFile = file;
+        mExecutor = executor;
+        Configuration configuration = context.getResources().getConfiguration();
+        mFontScale = configuration.fontScale;
+        mDensity = context.getResources().getDisplayMetrics().density;
+        mLocaleHash = configuration.locale != null ? configuration.locale.toString().hashCode() : 0;
+        mFingerprintHash = Build.FINGERPRINT != null ? Build.FINGERPRINT.hashCode() : 0;
+        int versionCode = 0;
+        long lastUpdateTime = 0;
+        try {
+            PackageInfo packageInfo = context.getPackageManager().getPackageInfo(context.getPackageName(), 0);
+            versionCode = packageInfo.versionCode;
+            lastUpdateTime = packageInfo.lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            // 不会发生，当前应用总是存在
+        }
+        mVersionCode = versionCode;
+        mLastUpdateTime = lastUpdateTime;
+        map();
+    }
+
+    /**
+     * @return 是否命中，命中时结果写入out
+     */
+    boolean get(Paint paint, String text, TextMeasureCache.Entry out) {
+        long key = hash(paint, text);
+        if (key == 0) {
+            return false;
+        }
+        ByteBuffer mapped;
+        int count;
+        int textHash = text.hashCode();
+        synchronized (mLock) {
+            TextMeasureCache.Entry pending = mPending.get(key);
+            if (pending != null && pending.mTextHash == textHash) {
+                copy(pending, out);
+                return true;
+            }
+            mapped = mMapped;
+            count = mMappedCount;
+        }
+        if (mapped == null) {
+            return false;
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = mapped.getLong(HEADER_SIZE + mid * RECORD_SIZE);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                if (mapped.getInt(HEADER_SIZE + mid * RECORD_SIZE + 52) != textHash) {
+                    return false;   // 哈希碰撞，按未命中处理，新的结果会覆盖这条记录
+                }
+                read(mapped, HEADER_SIZE + mid * RECORD_SIZE, out);
+                synchronized (mLock) {
+                    mTouched.add(key);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 记录新的测量结果，稍后在线程池中写回文件
+     */
+    void put(Paint paint, String text, TextMeasureCache.Entry entry) {
+        long key = hash(paint, text);
+        if (key == 0) {
+            return;
+        }
+        entry.mTextHash = text.hashCode();
+        synchronized (mLock) {
+            mPending.put(key, entry);
+            if (mWriteScheduled) {
+                return;
+            }
+            mWriteScheduled = true;
+        }
+        try {
+            mExecutor.execute(mWriteRunnable);
+        } catch (RejectedExecutionException e) {
+            synchronized (mLock) {
+                mWriteScheduled = false;    // 下次put时重试
+            }
+        }
+    }
+
+    /**
+     * 删除缓存文件及尚未写回的结果，正在写回时会等待其完成
+     */
+    public void clear() {
+        synchronized (mFileLock) {
+            synchronized (mLock) {
+                mPending.clear();
+                mTouched.clear();
+                mMapped = null;
+                mMappedCount = 0;
+                mMappedGeneration = 0;
+            }
+            mFile.delete();
+        }
+    }
+
+    private void map() {
+        ByteBuffer mapped = null;
+        int count = 0;
+        int generation = 0;
+        if (mFile.length() >= HEADER_SIZE) {
+            RandomAccessFile file = null;
+            try {
+                file = new RandomAccessFile(mFile, "r");
+                FileChannel channel = file.getChannel();
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                count = buffer.getInt(40);
+                if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION
+                        && buffer.getFloat(8) == mFontScale && buffer.getFloat(12) == mDensity && buffer.getInt(16) == mLocaleHash
+                        && buffer.getInt(20) == mFingerprintHash && buffer.getInt(24) == mVersionCode && buffer.getLong(28) == mLastUpdateTime
+                        && count >= 0 && HEADER_SIZE + (long) count * RECORD_SIZE <= channel.size()) {
+                    mapped = buffer;
+                    generation = buffer.getInt(36);
+                } else {
+                    count = 0;
+                }
+            } catch (IOException e) {
+                count = 0;
+            } finally {
+                closeQuietly(file);
+            }
+        }
+        synchronized (mLock) {
+            mMapped = mapped;
+            mMappedCount = count;
+            mMappedGeneration = generation;
+        }
+    }
+
+    /**
+     * 合并已有文件与新的结果，写入临时文件后替换，最后重新映射
+     * 新的结果和上次写回后被用到的记录使用新的代数，超出MAX_RECORDS时先淘汰代数最小的记录
+     */
+    private void write() {
+        synchronized (mFileLock) {
+            ByteBuffer mapped;
+            int count;
+            int generation;
+            Map<Long, TextMeasureCache.Entry> pending;
+            Set<Long> touched;
+            synchronized (mLock) {
+                mWriteScheduled = false;
+                if (mPending.isEmpty()) {
+                    return;
+                }
+                mapped = mMapped;
+                count = mMappedCount;
+                generation = mMappedGeneration + 1;
+                pending = new HashMap<Long, TextMeasureCache.Entry>(mPending);
+                touched = new HashSet<Long>(mTouched);
+            }
+            TreeMap<Long, TextMeasureCache.Entry> records = new TreeMap<Long, TextMeasureCache.Entry>();
+            Map<Long, Integer> generations = new HashMap<Long, Integer>();
+            for (int i = 0; mapped != null && i < count; i++) {
+                int offset = HEADER_SIZE + i * RECORD_SIZE;
+                Long key = mapped.getLong(offset);
+                TextMeasureCache.Entry entry = new TextMeasureCache.Entry();
+                read(mapped, offset, entry);
+                records.put(key, entry);
+                generations.put(key, touched.contains(key) ? generation : mapped.getInt(offset + 48));
+            }
+            records.putAll(pending);
+            for (Long key : pending.keySet()) {
+                generations.put(key, generation);
+            }
+            if (records.size() > MAX_RECORDS) {
+                evict(records, generations);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + records.size() * RECORD_SIZE);
+            buffer.putInt(MAGIC).putInt(VERSION).putFloat(mFontScale).putFloat(mDensity).putInt(mLocaleHash)
+                    .putInt(mFingerprintHash).putInt(mVersionCode).putLong(mLastUpdateTime).putInt(generation).putInt(records.size());
+            Iterator<Map.Entry<Long, TextMeasureCache.Entry>> iterator = records.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, TextMeasureCache.Entry> record = iterator.next();
+                TextMeasureCache.Entry entry = record.getValue();
+                buffer.putLong(record.getKey());
+                buffer.putInt(entry.mBounds.left).putInt(entry.mBounds.top).putInt(entry.mBounds.right).putInt(entry.mBounds.bottom);
+                buffer.putFloat(entry.mFontMetrics.top).putFloat(entry.mFontMetrics.ascent).putFloat(entry.mFontMetrics.descent)
+                        .putFloat(entry.mFontMetrics.bottom).putFloat(entry.mFontMetrics.leading);
+                buffer.putFloat(entry.mWidth);
+                buffer.putInt(generations.get(record.getKey()));
+                buffer.putInt(entry.mTextHash);
+            }
+
+            File tempFile = new File(mFile.getPath() + ".tmp");
+            FileOutputStream out = null;
+            try {
+                out = new FileOutputStream(tempFile);
+                out.write(buffer.array());
+                out.getFD().sync();
+            } catch (IOException e) {
+                closeQuietly(out);
+                tempFile.delete();
+                return; // 写入失败时保留新的结果，下次put时重试
+            }
+            closeQuietly(out);
+            if (!tempFile.renameTo(mFile)) {
+                tempFile.delete();
+                return;
+            }
+            map();
+            synchronized (mLock) {
+                for (Long key : pending.keySet()) {
+                    if (mPending.get(key) == pending.get(key)) {
+                        mPending.remove(key);
+                    }
+                }
+                mTouched.removeAll(touched);
+            }
+        }
+    }
+
+    /**
+     * 按代数从小到大淘汰，代数相同时按key的顺序
+     */
+    private static void evict(TreeMap<Long, TextMeasureCache.Entry> records, final Map<Long, Integer> generations) {
+        List<Long> keys = new ArrayList<Long>(records.keySet());
+        Collections.sort(keys, new Comparator<Long>() {
+            @Override
+            public int compare(Long lhs, Long rhs) {
+                int lhsGeneration = generations.get(lhs);
+                int rhsGeneration = generations.get(rhs);
+                return lhsGeneration < rhsGeneration ? -1 : (lhsGeneration == rhsGeneration ? 0 : 1);
+            }
+        });
+        for (int i = 0, j = records.size() - MAX_RECORDS; i < j; i++) {
+            records.remove(keys.get(i));
+        }
+    }
+
+    private static void read(ByteBuffer buffer, int offset, TextMeasureCache.Entry out) {
+        out.mBounds.set(buffer.getInt(offset + 8), buffer.getInt(offset + 12), buffer.getInt(offset + 16), buffer.getInt(offset + 20));
+        out.mFontMetrics.top = buffer.getFloat(offset + 24);
+        out.mFontMetrics.ascent = buffer.getFloat(offset + 28);
+        out.mFontMetrics.descent = buffer.getFloat(offset + 32);
+        out.mFontMetrics.bottom = buffer.getFloat(offset + 36);
+        out.mFontMetrics.leading = buffer.getFloat(offset + 40);
+        out.mWidth = buffer.getFloat(offset + 44);
+        out.mTextHash = buffer.getInt(offset + 52);
+    }
+
+    private static void copy(TextMeasureCache.Entry from, TextMeasureCache.Entry to) {
+        to.mBounds.set(from.mBounds);
+        to.mFontMetrics.top = from.mFontMetrics.top;
+        to.mFontMetrics.ascent = from.mFontMetrics.ascent;
+        to.mFontMetrics.descent = from.mFontMetrics.descent;
+        to.mFontMetrics.bottom = from.mFontMetrics.bottom;
+        to.mFontMetrics.leading = from.mFontMetrics.leading;
+        to.mWidth = from.mWidth;
+        to.mTextHash = from.mTextHash;
+    }
+
+    /**
+     * 文字及样式的64位FNV-1a哈希，样式属性与TextStyle一致
+     *
+     * @return 无法持久化(使用了自定义字体)时返回0
+     */
+    private static long hash(Paint paint, String text) {
+        TextStyle style = new TextStyle(paint);
+        int typeface = typefaceIndex(style.mTypeface);
+        if (typeface < 0) {
+            return 0;
+        }
+        long hash = mix(0xcbf29ce484222325L, text);
+        hash = mix(hash, Float.floatToIntBits(style.mTextSize));
+        hash = mix(hash, typeface);
+        hash = mix(hash, Float.floatToIntBits(style.mTextScaleX));
+        hash = mix(hash, Float.floatToIntBits(style.mTextSkewX));
+        hash = mix(hash, Float.floatToIntBits(style.mLetterSpacing));
+        hash = mix(hash, style.mFontFeatureSettings != null ? style.mFontFeatureSettings : "");
+        hash = mix(hash, style.mFlags);
+        hash = mix(hash, style.mTextLocale != null ? style.mTextLocale.toString() : "");
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * 逐个字符混入后再混入长度，使相邻的字符串属性不会因边界不同而得到相同的哈希
+     */
+    private static long mix(long hash, String value) {
+        for (int i = 0, j = value.length(); i < j; i++) {
+            hash = mix(hash, value.charAt(i));
+        }
+        return mix(hash, value.length());
+    }
+
+    private static long mix(long hash, int value) {
+        for (int i = 0; i < 4; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static int typefaceIndex(Typeface typeface) {
+        if (typeface == null) {
+            return 0;
+        } else if (typeface == Typeface.DEFAULT) {
+            return 1;
+        } else if (typeface == Typeface.DEFAULT_BOLD) {
+            return 2;
+        } else if (typeface == Typeface.SANS_SERIF) {
+            return 3;
+        } else if (typeface == Typeface.SERIF) {
+            return 4;
+        } else if (typeface == Typeface.MONOSPACE) {
+            return 5;
+        }
+        return -1;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                // 忽略
+            }
+        }
+    }
+}
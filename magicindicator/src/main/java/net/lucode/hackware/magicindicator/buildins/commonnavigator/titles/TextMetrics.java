@@ -0,0 +1,77 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator.titles;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.text.TextUtils;
+
+/**
+ * 文本测量结果的缓存，只有文本或TextStyle中的样式发生变化时才重新测量，
+ * 其余情况下直接返回上次的结果，供title在getContentLeft等方法中无分配地获取内容区域
+ * 需要重新测量时通过进程内共享的TextMeasureCache获取，未命中时同步测量
+ */
+public class TextMetrics {
+    private final Rect mBounds = new Rect();
+    private final Paint.FontMetrics mFontMetrics = new Paint.FontMetrics();
+
+    private final TextStyle mStyle = new TextStyle();
+
+    private String mText;
+    private boolean mMeasured;
+
+    /**
+     * 按需重新测量
+     *
+     * @return 是否重新测量了
+     */
+    public boolean update(Paint paint, CharSequence text) {
+        if (mMeasured && TextUtils.equals(mText, text) && mStyle.matches(paint)) {
+            return false;
+        }
+        mText = text == null ? null : text.toString();
+        mStyle.set(paint);
+        if (mText == null) {
+            mBounds.setEmpty();
+            paint.getFontMetrics(mFontMetrics);
+        } else {
+            TextMeasureCache.get(paint, mText, mBounds, mFontMetrics);
+        }
+        mMeasured = true;
+        return true;
+    }
+
+    /**
+     * 使缓存失效，下次update时一定会重新测量
+     */
+    public void invalidate() {
+        mMeasured = false;
+    }
+
+    public int getTextWidth() {
+        return mBounds.width();
+    }
+
+    public int getTextHeight() {
+        return mBounds.height();
+    }
+
+    /**
+     * @return 字体的完整高度，即FontMetrics.bottom - FontMetrics.top
+     */
+    public float getFontHeight() {
+        return mFontMetrics.bottom - mFontMetrics.top;
+    }
+
+    /**
+     * @return 缓存的测量结果，不要修改
+     */
+    public Rect getBounds() {
+        return mBounds;
+    }
+
+    /**
+     * @return 缓存的测量结果，不要修改
+     */
+    public Paint.FontMetrics getFontMetrics() {
+        return mFontMetrics;
+    }
+}
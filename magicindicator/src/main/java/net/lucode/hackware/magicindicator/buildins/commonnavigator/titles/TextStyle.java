@@ -0,0 +1,104 @@
+package net.lucode.hackware.magicindicator.buildins.commonnavigator.titles;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.os.Build;
+import android.text.TextUtils;
+
+import java.util.Locale;
+
+/**
+ * Paint中影响文字测量结果的样式，TextMeasureCache的key、TextMetrics的快速判断和TextMeasureDiskCache的哈希共用同一组属性
+ * 新增属性时需要同时修改set、matches、equals、hashCode以及TextMeasureDiskCache.hash
+ */
+final class TextStyle {
+    // 影响字形宽度和边界的标记，其余标记(如抗锯齿、下划线)不影响测量结果
+    static final int MEASURE_FLAGS = Paint.FAKE_BOLD_TEXT_FLAG | Paint.LINEAR_TEXT_FLAG | Paint.SUBPIXEL_TEXT_FLAG | Paint.DEV_KERN_TEXT_FLAG;
+
+    float mTextSize = -1;
+    Typeface mTypeface;
+    float mTextScaleX;
+    float mTextSkewX;
+    float mLetterSpacing;
+    String mFontFeatureSettings;
+    int mFlags;
+    Locale mTextLocale;
+
+    TextStyle() {
+    }
+
+    TextStyle(Paint paint) {
+        set(paint);
+    }
+
+    void set(Paint paint) {
+        mTextSize = paint.getTextSize();
+        mTypeface = paint.getTypeface();
+        mTextScaleX = paint.getTextScaleX();
+        mTextSkewX = paint.getTextSkewX();
+        mLetterSpacing = getLetterSpacing(paint);
+        mFontFeatureSettings = getFontFeatureSettings(paint);
+        mFlags = paint.getFlags() & MEASURE_FLAGS;
+        mTextLocale = getTextLocale(paint);
+    }
+
+    /**
+     * 不分配内存地与paint的当前样式比较
+     */
+    boolean matches(Paint paint) {
+        return mTextSize == paint.getTextSize()
+                && mTypeface == paint.getTypeface()
+                && mTextScaleX == paint.getTextScaleX()
+                && mTextSkewX == paint.getTextSkewX()
+                && mLetterSpacing == getLetterSpacing(paint)
+                && mFlags == (paint.getFlags() & MEASURE_FLAGS)
+                && TextUtils.equals(mFontFeatureSettings, getFontFeatureSettings(paint))
+                && equals(mTextLocale, getTextLocale(paint));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TextStyle)) {
+            return false;
+        }
+        TextStyle style = (TextStyle) o;
+        return mTextSize == style.mTextSize && mTypeface == style.mTypeface && mTextScaleX == style.mTextScaleX
+                && mTextSkewX == style.mTextSkewX && mLetterSpacing == style.mLetterSpacing && mFlags == style.mFlags
+                && TextUtils.equals(mFontFeatureSettings, style.mFontFeatureSettings) && equals(mTextLocale, style.mTextLocale);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Float.floatToIntBits(mTextSize);
+        result = 31 * result + System.identityHashCode(mTypeface);
+        result = 31 * result + Float.floatToIntBits(mTextScaleX);
+        result = 31 * result + Float.floatToIntBits(mTextSkewX);
+        result = 31 * result + Float.floatToIntBits(mLetterSpacing);
+        result = 31 * result + (mFontFeatureSettings != null ? mFontFeatureSettings.hashCode() : 0);
+        result = 31 * result + mFlags;
+        result = 31 * result + (mTextLocale != null ? mTextLocale.hashCode() : 0);
+        return result;
+    }
+
+    private static boolean equals(Locale a, Locale b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    static float getLetterSpacing(Paint paint) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP ? paint.getLetterSpacing() : 0.0f;
+    }
+
+    static String getFontFeatureSettings(Paint paint) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP ? paint.getFontFeatureSettings() : null;
+    }
+
+    /**
+     * 文字的语言会影响字形选择(如中日韩统一表意文字)，API 17以下Paint总是使用默认语言
+     */
+    static Locale getTextLocale(Paint paint) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 ? paint.getTextLocale() : Locale.getDefault();
+    }
+}
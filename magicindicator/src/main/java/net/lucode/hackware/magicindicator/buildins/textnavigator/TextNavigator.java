@@ -0,0 +1,836 @@
+package net.lucode.hackware.magicindicator.buildins.textnavigator;
+
+import android.content.Context;
+import android.database.DataSetObserver;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.os.Bundle;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
+import android.support.v4.widget.ExploreByTouchHelper;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewParent;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.OverScroller;
+
+import net.lucode.hackware.magicindicator.NavigatorHelper;
+import net.lucode.hackware.magicindicator.ScrollState;
+import net.lucode.hackware.magicindicator.TabStateStore;
+import net.lucode.hackware.magicindicator.abs.IPagerNavigator;
+import net.lucode.hackware.magicindicator.buildins.ColorRamp;
+import net.lucode.hackware.magicindicator.buildins.UIUtil;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerIndicator;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionData;
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.titles.TextMeasureCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 纯文本title的导航器，所有title和指示器都在同一个View中测量和绘制，自己维护滚动偏移
+ * 不会为每个title创建View，适用于数目很多的纯文本title
+ * 指示器与CommonNavigator中的一样通过PositionData获取坐标，指示器自身的invalidate无效，由TextNavigator负责重绘
+ * 每个title作为虚拟View提供给无障碍服务，可被TalkBack等聚焦和点击
+ */
+public class TextNavigator extends View implements IPagerNavigator, NavigatorHelper.OnNavigatorScrollListener {
+    public static final int TITLE_MODE_SIMPLE = 0;  // 选中、未选中两种颜色，类似SimplePagerTitleView
+    public static final int TITLE_MODE_COLOR_TRANSITION = 1;    // 颜色渐变，类似ColorTransitionPagerTitleView
+    public static final int TITLE_MODE_CLIP = 2;    // 颜色裁剪，类似ClipPagerTitleView
+
+    private static final int INVALID_POINTER = -1;
+
+    private TextNavigatorAdapter mAdapter;
+    private NavigatorHelper mNavigatorHelper;
+    private IPagerIndicator mIndicator;
+
+    /**
+     * 提供给外部的参数配置
+     */
+    /****************************************************/
+    private int mTitleMode = TITLE_MODE_COLOR_TRANSITION;
+    private int mNormalColor = Color.GRAY;
+    private int mSelectedColor = Color.BLACK;
+    private int mTitlePadding;  // 每个title左右两侧的留白
+    private boolean mAdjustMode;   // 自适应模式，所有title平分宽度，不可滚动
+    private float mScrollPivotX = 0.5f; // 滚动中心点 0.0f - 1.0f
+    private boolean mSmoothScroll = true;   // 是否平滑滚动，适用于 !mAdjustMode && !mFollowTouch
+    private boolean mFollowTouch = true;    // 是否手指跟随滚动
+    private boolean mIndicatorOnTop;    // 指示器是否在title上层，默认为下层
+    private boolean mSkimOver;  // 跨多页切换时，中间页是否显示 "掠过" 效果
+    private boolean mReselectWhenLayout = true; // PositionData准备好时，是否重新选中当前页
+    /****************************************************/
+
+    private Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private Paint.FontMetrics mFontMetrics = new Paint.FontMetrics();
+    private ColorRamp mColorRamp;
+
+    // title文本及其宽度，在measureTitles中准备
+    private String[] mTitles = new String[0];
+    private float[] mTextWidths = new float[0];
+    private boolean mTitlesInvalid = true;
+    private int mContentWidth;
+
+    // 保存每个title的位置信息，提供给indicator
+    private List<PositionData> mPositionDataList = new ArrayList<PositionData>();
+    private boolean mPositionDataInvalid = true;
+
+    // title状态，mSelectedStates的标记表示是否选中，mTransitionStates的值表示向选中状态过渡的比例，标记表示裁剪方向是否从左到右
+    private TabStateStore mSelectedStates = new TabStateStore();
+    private TabStateStore mTransitionStates = new TabStateStore();
+
+    // 拖动、惯性滚动及点击
+    private OverScroller mScroller;
+    private VelocityTracker mVelocityTracker;
+    private int mTouchSlop;
+    private int mMinimumFlingVelocity;
+    private int mMaximumFlingVelocity;
+    private int mActivePointerId = INVALID_POINTER;
+    private float mDownX;
+    private float mDownY;
+    private float mLastX;
+    private boolean mDragging;
+    private boolean mClickCancelled;    // 出现多个手指时不再视为点击
+    private OnTitleClickListener mTitleClickListener;
+
+    private TitleAccessibilityHelper mAccessibilityHelper;
+
+    private DataSetObserver mObserver = new DataSetObserver() {
+
+        @Override
+        public void onChanged() {
+            mNavigatorHelper.setTotalCount(mAdapter.getCount());    // 如果使用helper，应始终保证helper中的totalCount为最新
+            init();
+        }
+
+        @Override
+        public void onInvalidated() {
+            // 没什么用，暂不做处理
+        }
+    };
+
+    public TextNavigator(Context context) {
+        super(context);
+        mNavigatorHelper = new NavigatorHelper();
+        mNavigatorHelper.setNavigatorScrollListener(this);
+        init(context);
+    }
+
+    private void init(Context context) {
+        mPaint.setTextSize(UIUtil.dip2px(context, 16));
+        mTitlePadding = UIUtil.dip2px(context, 10);
+        mScroller = new OverScroller(context);
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        mTouchSlop = configuration.getScaledTouchSlop();
+        mMinimumFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        mMaximumFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+        mAccessibilityHelper = new TitleAccessibilityHelper(this);
+        ViewCompat.setAccessibilityDelegate(this, mAccessibilityHelper);
+    }
+
+    /**
+     * 重新获取title文本和指示器
+     */
+    private void init() {
+        int totalCount = mNavigatorHelper.getTotalCount();
+        mSelectedStates.setCount(totalCount);
+        mTransitionStates.setCount(totalCount);
+        mIndicator = mAdapter != null ? mAdapter.getIndicator(getContext()) : null;
+        mScroller.forceFinished(true);
+        mTitlesInvalid = true;
+        mPositionDataInvalid = true;
+        requestLayout();
+        invalidate();
+    }
+
+    @Override
+    public void notifyDataSetChanged() {
+        if (mAdapter != null) {
+            mAdapter.notifyDataSetChanged();
+        }
+    }
+
+    public TextNavigatorAdapter getAdapter() {
+        return mAdapter;
+    }
+
+    public void setAdapter(TextNavigatorAdapter adapter) {
+        if (mAdapter == adapter) {
+            return;
+        }
+        if (mAdapter != null) {
+            mAdapter.unregisterDataSetObserver(mObserver);
+        }
+        mAdapter = adapter;
+        if (mAdapter != null) {
+            mAdapter.registerDataSetObserver(mObserver);
+            mNavigatorHelper.setTotalCount(mAdapter.getCount());
+        } else {
+            mNavigatorHelper.setTotalCount(0);
+        }
+        init();
+    }
+
+    /**
+     * 读取并测量所有title的文本，只在数据或文本样式变化后执行
+     */
+    private void measureTitles() {
+        int totalCount = mNavigatorHelper.getTotalCount();
+        if (mTitles.length != totalCount) {
+            mTitles = new String[totalCount];
+            mTextWidths = new float[totalCount];
+        }
+        for (int i = 0; i < totalCount; i++) {
+            CharSequence title = mAdapter != null ? mAdapter.getTitle(i) : null;
+            mTitles[i] = title == null ? "" : title.toString();
+            mTextWidths[i] = TextMeasureCache.getWidth(mPaint, mTitles[i]);
+        }
+        mPaint.getFontMetrics(mFontMetrics);
+        mContentWidth = getPaddingLeft() + getPaddingRight();
+        for (int i = 0; i < totalCount; i++) {
+            mContentWidth += (int) (mTextWidths[i] + 0.5f) + mTitlePadding * 2;
+        }
+        mTitlesInvalid = false;
+        mPositionDataInvalid = true;
+        mAccessibilityHelper.invalidateRoot();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (mTitlesInvalid) {
+            measureTitles();
+        }
+        setMeasuredDimension(measureWidth(widthMeasureSpec), measureHeight(heightMeasureSpec));
+    }
+
+    private int measureWidth(int widthMeasureSpec) {
+        int mode = MeasureSpec.getMode(widthMeasureSpec);
+        int size = MeasureSpec.getSize(widthMeasureSpec);
+        int result = size;
+        switch (mode) {
+            case MeasureSpec.AT_MOST:
+                result = Math.min(mContentWidth, size);
+                break;
+            case MeasureSpec.UNSPECIFIED:
+                result = mContentWidth;
+                break;
+            default:
+                break;
+        }
+        return result;
+    }
+
+    private int measureHeight(int heightMeasureSpec) {
+        int mode = MeasureSpec.getMode(heightMeasureSpec);
+        int size = MeasureSpec.getSize(heightMeasureSpec);
+        int result = size;
+        int height = (int) (mFontMetrics.bottom - mFontMetrics.top + 0.5f) + getPaddingTop() + getPaddingBottom();
+        switch (mode) {
+            case MeasureSpec.AT_MOST:
+                result = Math.min(height, size);
+                break;
+            case MeasureSpec.UNSPECIFIED:
+                result = height;
+                break;
+            default:
+                break;
+        }
+        return result;
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        super.onLayout(changed, left, top, right, bottom);
+        if (mTitlesInvalid) {
+            measureTitles();
+        }
+        if (changed || mPositionDataInvalid) {
+            preparePositionData();
+            if (mIndicator != null) {
+                mIndicator.onPositionDataProvide(mPositionDataList);
+            }
+            scrollTo(clampScrollX(getScrollX()), 0);
+            if (mReselectWhenLayout && mNavigatorHelper.getScrollState() == ScrollState.SCROLL_STATE_IDLE) {
+                onPageSelected(mNavigatorHelper.getCurrentIndex());
+                onPageScrolled(mNavigatorHelper.getCurrentIndex(), 0.0f, 0);
+            }
+        }
+    }
+
+    /**
+     * 计算所有title的坐标，并按内容宽度布局指示器
+     */
+    private void preparePositionData() {
+        int totalCount = mNavigatorHelper.getTotalCount();
+        while (mPositionDataList.size() > totalCount) {
+            mPositionDataList.remove(mPositionDataList.size() - 1);
+        }
+        while (mPositionDataList.size() < totalCount) {
+            mPositionDataList.add(new PositionData());
+        }
+        int height = getHeight();
+        float fontHeight = mFontMetrics.bottom - mFontMetrics.top;
+        int contentTop = (int) (height / 2 - fontHeight / 2);
+        int contentBottom = (int) (height / 2 + fontHeight / 2);
+        int availableWidth = getWidth() - getPaddingLeft() - getPaddingRight();
+        int titleLeft = getPaddingLeft();
+        for (int i = 0; i < totalCount; i++) {
+            int titleRight;
+            if (mAdjustMode) {
+                titleRight = getPaddingLeft() + availableWidth * (i + 1) / totalCount;
+            } else {
+                titleRight = titleLeft + (int) (mTextWidths[i] + 0.5f) + mTitlePadding * 2;
+            }
+            int contentWidth = (int) mTextWidths[i];
+            PositionData data = mPositionDataList.get(i);
+            data.mLeft = titleLeft;
+            data.mTop = 0;
+            data.mRight = titleRight;
+            data.mBottom = height;
+            data.mContentLeft = titleLeft + (titleRight - titleLeft) / 2 - contentWidth / 2;
+            data.mContentTop = contentTop;
+            data.mContentRight = titleLeft + (titleRight - titleLeft) / 2 + contentWidth / 2;
+            data.mContentBottom = contentBottom;
+            titleLeft = titleRight;
+        }
+        if (!mAdjustMode) {
+            mContentWidth = titleLeft + getPaddingRight();
+        } else {
+            mContentWidth = getWidth();
+        }
+
+        if (mIndicator instanceof View) {
+            View indicator = (View) mIndicator;
+            int indicatorWidth = Math.max(mContentWidth, getWidth());
+            indicator.measure(MeasureSpec.makeMeasureSpec(indicatorWidth, MeasureSpec.EXACTLY), MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+            indicator.layout(0, 0, indicatorWidth, height);
+        }
+        mPositionDataInvalid = false;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (!mIndicatorOnTop) {
+            drawIndicator(canvas);
+        }
+        drawTitles(canvas);
+        if (mIndicatorOnTop) {
+            drawIndicator(canvas);
+        }
+    }
+
+    private void drawIndicator(Canvas canvas) {
+        if (mIndicator instanceof View) {
+            ((View) mIndicator).draw(canvas);
+        }
+    }
+
+    /**
+     * 只绘制可见区域内的title
+     */
+    private void drawTitles(Canvas canvas) {
+        int count = Math.min(mPositionDataList.size(), mTitles.length);
+        if (count == 0) {
+            return;
+        }
+        float y = (getHeight() - mFontMetrics.bottom - mFontMetrics.top) / 2;
+        int visibleRight = getScrollX() + getWidth();
+        if (mTitleMode == TITLE_MODE_COLOR_TRANSITION) {
+            mColorRamp = ColorRamp.obtain(mColorRamp, mNormalColor, mSelectedColor, false);
+        }
+        for (int i = findTitleIndex(getScrollX()); i < count; i++) {
+            PositionData data = mPositionDataList.get(i);
+            if (data.mLeft >= visibleRight) {
+                break;
+            }
+            String title = mTitles[i];
+            switch (mTitleMode) {
+                case TITLE_MODE_SIMPLE:
+                    mPaint.setColor(mSelectedStates.getFlag(i) ? mSelectedColor : mNormalColor);
+                    canvas.drawText(title, data.mContentLeft, y, mPaint);
+                    break;
+                case TITLE_MODE_COLOR_TRANSITION:
+                    mPaint.setColor(mColorRamp.eval(mTransitionStates.get(i)));
+                    canvas.drawText(title, data.mContentLeft, y, mPaint);
+                    break;
+                default:
+                    drawClipTitle(canvas, title, data, y, mTransitionStates.get(i), mTransitionStates.getFlag(i));
+                    break;
+            }
+        }
+    }
+
+    private void drawClipTitle(Canvas canvas, String title, PositionData data, float y, float clipPercent, boolean leftToRight) {
+        // 画底层
+        mPaint.setColor(mNormalColor);
+        canvas.drawText(title, data.mContentLeft, y, mPaint);
+        if (clipPercent <= 0.0f) {
+            return;
+        }
+
+        // 画clip层
+        canvas.save(Canvas.CLIP_SAVE_FLAG);
+        if (leftToRight) {
+            canvas.clipRect(data.mLeft, data.mTop, data.mLeft + data.width() * clipPercent, data.mBottom);
+        } else {
+            canvas.clipRect(data.mRight - data.width() * clipPercent, data.mTop, data.mRight, data.mBottom);
+        }
+        mPaint.setColor(mSelectedColor);
+        canvas.drawText(title, data.mContentLeft, y, mPaint);
+        canvas.restore();
+    }
+
+    /**
+     * @return 包含x坐标的title下标，x在所有title右侧时返回title数目
+     */
+    private int findTitleIndex(int x) {
+        int low = 0;
+        int high = mPositionDataList.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (mPositionDataList.get(mid).mRight <= x) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private int clampScrollX(int scrollX) {
+        int maxScrollX = Math.max(0, mContentWidth - getWidth());
+        return Math.max(0, Math.min(scrollX, maxScrollX));
+    }
+
+    private void scrollToTitle(float scrollTo, boolean smooth) {
+        int target = clampScrollX((int) scrollTo);
+        if (smooth) {
+            mScroller.startScroll(getScrollX(), 0, target - getScrollX(), 0);
+            ViewCompat.postInvalidateOnAnimation(this);
+        } else {
+            mScroller.forceFinished(true);
+            scrollTo(target, 0);
+        }
+    }
+
+    @Override
+    public void computeScroll() {
+        if (mScroller.computeScrollOffset()) {
+            scrollTo(clampScrollX(mScroller.getCurrX()), 0);
+            ViewCompat.postInvalidateOnAnimation(this);
+        }
+    }
+
+    private boolean canScroll() {
+        return !mAdjustMode && mContentWidth > getWidth();
+    }
+
+    /**
+     * 既不能滚动又没有点击监听时不消费事件，交给父布局处理
+     */
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        int action = event.getActionMasked();
+        if (action == MotionEvent.ACTION_DOWN && !canScroll() && mTitleClickListener == null) {
+            return super.onTouchEvent(event);
+        }
+        if (action != MotionEvent.ACTION_DOWN && mActivePointerId == INVALID_POINTER) {
+            return super.onTouchEvent(event);   // 按下时没有消费，之后的事件也不处理
+        }
+        if (mVelocityTracker == null) {
+            mVelocityTracker = VelocityTracker.obtain();
+        }
+        mVelocityTracker.addMovement(event);
+        switch (action) {
+            case MotionEvent.ACTION_DOWN:
+                mScroller.forceFinished(true);
+                mActivePointerId = event.getPointerId(0);
+                mDownX = event.getX();
+                mDownY = event.getY();
+                mLastX = mDownX;
+                mDragging = false;
+                mClickCancelled = false;
+                break;
+            case MotionEvent.ACTION_POINTER_DOWN: {
+                // 新按下的手指接管滚动，与ScrollView一致
+                int index = event.getActionIndex();
+                mActivePointerId = event.getPointerId(index);
+                mLastX = event.getX(index);
+                mClickCancelled = true;
+                break;
+            }
+            case MotionEvent.ACTION_POINTER_UP:
+                onSecondaryPointerUp(event);
+                break;
+            case MotionEvent.ACTION_MOVE: {
+                int index = event.findPointerIndex(mActivePointerId);
+                if (index < 0) {
+                    break;
+                }
+                float x = event.getX(index);
+                if (!mDragging && canScroll() && Math.abs(x - mDownX) > mTouchSlop) {
+                    mDragging = true;
+                    ViewParent parent = getParent();
+                    if (parent != null) {
+                        parent.requestDisallowInterceptTouchEvent(true);
+                    }
+                }
+                if (mDragging) {
+                    scrollTo(clampScrollX(getScrollX() + (int) (mLastX - x)), 0);
+                }
+                mLastX = x;
+                break;
+            }
+            case MotionEvent.ACTION_UP: {
+                int index = event.findPointerIndex(mActivePointerId);
+                float x = index >= 0 ? event.getX(index) : mLastX;
+                float y = index >= 0 ? event.getY(index) : mDownY;
+                if (mDragging) {
+                    mVelocityTracker.computeCurrentVelocity(1000, mMaximumFlingVelocity);
+                    int velocityX = (int) mVelocityTracker.getXVelocity(mActivePointerId);
+                    if (Math.abs(velocityX) > mMinimumFlingVelocity) {
+                        mScroller.fling(getScrollX(), 0, -velocityX, 0, 0, clampScrollX(Integer.MAX_VALUE), 0, 0);
+                        ViewCompat.postInvalidateOnAnimation(this);
+                    }
+                } else if (!mClickCancelled && Math.abs(x - mDownX) <= mTouchSlop && Math.abs(y - mDownY) <= mTouchSlop) {
+                    performClick();
+                    int titleIndex = findTitleIndex((int) x + getScrollX());
+                    if (titleIndex < mPositionDataList.size()) {
+                        performTitleClick(titleIndex);
+                    }
+                }
+                endTouch();
+                break;
+            }
+            case MotionEvent.ACTION_CANCEL:
+                endTouch();
+                break;
+            default:
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * 抬起的是当前跟踪的手指时，改为跟踪剩余的第一个手指
+     */
+    private void onSecondaryPointerUp(MotionEvent event) {
+        int index = event.getActionIndex();
+        if (event.getPointerId(index) == mActivePointerId) {
+            int newIndex = index == 0 ? 1 : 0;
+            mActivePointerId = event.getPointerId(newIndex);
+            mLastX = event.getX(newIndex);
+        }
+    }
+
+    private void endTouch() {
+        mDragging = false;
+        mActivePointerId = INVALID_POINTER;
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+
+    private void performTitleClick(int index) {
+        if (mTitleClickListener != null) {
+            mTitleClickListener.onClick(index);
+        }
+        mAccessibilityHelper.sendEventForVirtualView(index, AccessibilityEvent.TYPE_VIEW_CLICKED);
+    }
+
+    @Override
+    public boolean dispatchHoverEvent(MotionEvent event) {
+        return mAccessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        if (mAdapter != null) {
+            mNavigatorHelper.onPageScrolled(position, positionOffset, positionOffsetPixels);
+            if (mIndicator != null) {
+                mIndicator.onPageScrolled(position, positionOffset, positionOffsetPixels);
+                invalidate();
+            }
+
+            // 手指跟随滚动
+            if (!mAdjustMode && mFollowTouch && !mDragging && position >= 0 && position < mPositionDataList.size()) {
+                int nextPosition = Math.min(mPositionDataList.size() - 1, position + 1);
+                PositionData current = mPositionDataList.get(position);
+                PositionData next = mPositionDataList.get(nextPosition);
+                float scrollTo = current.horizontalCenter() - getWidth() * mScrollPivotX;
+                float nextScrollTo = next.horizontalCenter() - getWidth() * mScrollPivotX;
+                scrollToTitle(scrollTo + (nextScrollTo - scrollTo) * positionOffset, false);
+            }
+        }
+    }
+
+    @Override
+    public void onPageSelected(int position) {
+        if (mAdapter != null) {
+            mNavigatorHelper.onPageSelected(position);
+            if (mIndicator != null) {
+                mIndicator.onPageSelected(position);
+                invalidate();
+            }
+        }
+    }
+
+    @Override
+    public void onPageScrollStateChanged(int state) {
+        if (mAdapter != null) {
+            mNavigatorHelper.onPageScrollStateChanged(state);
+            if (mIndicator != null) {
+                mIndicator.onPageScrollStateChanged(state);
+                invalidate();
+            }
+        }
+    }
+
+    @Override
+    public void onEnter(int index, int totalCount, float enterPercent, boolean leftToRight) {
+        mTransitionStates.put(index, enterPercent);
+        mTransitionStates.setFlag(index, leftToRight);
+        invalidate();
+    }
+
+    @Override
+    public void onLeave(int index, int totalCount, float leavePercent, boolean leftToRight) {
+        mTransitionStates.put(index, 1.0f - leavePercent);
+        mTransitionStates.setFlag(index, !leftToRight);
+        invalidate();
+    }
+
+    @Override
+    public void onSelected(int index, int totalCount) {
+        mSelectedStates.setFlag(index, true);
+        invalidate();
+        mAccessibilityHelper.invalidateVirtualView(index);
+        if (!mAdjustMode && !mFollowTouch && index >= 0 && index < mPositionDataList.size()) {
+            PositionData current = mPositionDataList.get(index);
+            float scrollTo = current.horizontalCenter() - getWidth() * mScrollPivotX;
+            scrollToTitle(scrollTo, mSmoothScroll);
+        }
+    }
+
+    @Override
+    public void onDeselected(int index, int totalCount) {
+        mSelectedStates.setFlag(index, false);
+        invalidate();
+        mAccessibilityHelper.invalidateVirtualView(index);
+    }
+
+    @Override
+    public void onAttachToMagicIndicator() {
+    }
+
+    @Override
+    public void onDetachFromMagicIndicator() {
+    }
+
+    public IPagerIndicator getPagerIndicator() {
+        return mIndicator;
+    }
+
+    public int getTitleMode() {
+        return mTitleMode;
+    }
+
+    public void setTitleMode(int titleMode) {
+        if (titleMode == TITLE_MODE_SIMPLE || titleMode == TITLE_MODE_COLOR_TRANSITION || titleMode == TITLE_MODE_CLIP) {
+            mTitleMode = titleMode;
+            invalidate();
+        } else {
+            throw new IllegalArgumentException("title mode " + titleMode + " not supported.");
+        }
+    }
+
+    public int getNormalColor() {
+        return mNormalColor;
+    }
+
+    public void setNormalColor(int normalColor) {
+        mNormalColor = normalColor;
+        invalidate();
+    }
+
+    public int getSelectedColor() {
+        return mSelectedColor;
+    }
+
+    public void setSelectedColor(int selectedColor) {
+        mSelectedColor = selectedColor;
+        invalidate();
+    }
+
+    public float getTextSize() {
+        return mPaint.getTextSize();
+    }
+
+    public void setTextSize(float textSize) {
+        mPaint.setTextSize(textSize);
+        mTitlesInvalid = true;
+        requestLayout();
+        invalidate();
+    }
+
+    public Typeface getTypeface() {
+        return mPaint.getTypeface();
+    }
+
+    public void setTypeface(Typeface typeface) {
+        mPaint.setTypeface(typeface);
+        mTitlesInvalid = true;
+        requestLayout();
+        invalidate();
+    }
+
+    public int getTitlePadding() {
+        return mTitlePadding;
+    }
+
+    public void setTitlePadding(int titlePadding) {
+        mTitlePadding = titlePadding;
+        mTitlesInvalid = true;
+        requestLayout();
+    }
+
+    public boolean isAdjustMode() {
+        return mAdjustMode;
+    }
+
+    public void setAdjustMode(boolean is) {
+        mAdjustMode = is;
+        mPositionDataInvalid = true;
+        requestLayout();
+    }
+
+    public float getScrollPivotX() {
+        return mScrollPivotX;
+    }
+
+    public void setScrollPivotX(float scrollPivotX) {
+        mScrollPivotX = scrollPivotX;
+    }
+
+    public boolean isSmoothScroll() {
+        return mSmoothScroll;
+    }
+
+    public void setSmoothScroll(boolean smoothScroll) {
+        mSmoothScroll = smoothScroll;
+    }
+
+    public boolean isFollowTouch() {
+        return mFollowTouch;
+    }
+
+    public void setFollowTouch(boolean followTouch) {
+        mFollowTouch = followTouch;
+    }
+
+    public boolean isIndicatorOnTop() {
+        return mIndicatorOnTop;
+    }
+
+    public void setIndicatorOnTop(boolean indicatorOnTop) {
+        mIndicatorOnTop = indicatorOnTop;
+        invalidate();
+    }
+
+    public boolean isSkimOver() {
+        return mSkimOver;
+    }
+
+    public void setSkimOver(boolean skimOver) {
+        mSkimOver = skimOver;
+        mNavigatorHelper.setSkimOver(skimOver);
+    }
+
+    public boolean isReselectWhenLayout() {
+        return mReselectWhenLayout;
+    }
+
+    public void setReselectWhenLayout(boolean reselectWhenLayout) {
+        mReselectWhenLayout = reselectWhenLayout;
+    }
+
+    public OnTitleClickListener getTitleClickListener() {
+        return mTitleClickListener;
+    }
+
+    public void setTitleClickListener(OnTitleClickListener titleClickListener) {
+        mTitleClickListener = titleClickListener;
+        mAccessibilityHelper.invalidateRoot();
+    }
+
+    public interface OnTitleClickListener {
+        void onClick(int index);
+    }
+
+    /**
+     * 将可见区域内的title作为虚拟View提供给无障碍服务，虚拟View的id即title的下标
+     */
+    private class TitleAccessibilityHelper extends ExploreByTouchHelper {
+        private final Rect mBounds = new Rect();
+
+        TitleAccessibilityHelper(View host) {
+            super(host);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            int index = findTitleIndex((int) x + getScrollX());
+            return index < mPositionDataList.size() ? index : INVALID_ID;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            int count = Math.min(mPositionDataList.size(), mTitles.length);
+            int visibleRight = getScrollX() + getWidth();
+            for (int i = findTitleIndex(getScrollX()); i < count && mPositionDataList.get(i).mLeft < visibleRight; i++) {
+                virtualViewIds.add(i);
+            }
+        }
+
+        @Override
+        protected void onPopulateEventForVirtualView(int virtualViewId, AccessibilityEvent event) {
+            event.getText().add(getTitleText(virtualViewId));
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, AccessibilityNodeInfoCompat node) {
+            node.setText(getTitleText(virtualViewId));
+            if (virtualViewId < mPositionDataList.size()) {
+                PositionData data = mPositionDataList.get(virtualViewId);
+                mBounds.set(data.mLeft, data.mTop, data.mRight, data.mBottom);
+            } else {
+                mBounds.set(0, 0, 1, 1);    // 数据已变化，节点即将失效，不能为空
+            }
+            node.setBoundsInParent(mBounds);
+            node.setSelected(virtualViewId < mNavigatorHelper.getTotalCount() && mSelectedStates.getFlag(virtualViewId));
+            if (mTitleClickListener != null) {
+                node.setClickable(true);
+                node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+            }
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, Bundle arguments) {
+            if (action == AccessibilityNodeInfoCompat.ACTION_CLICK && mTitleClickListener != null && virtualViewId < mPositionDataList.size()) {
+                performTitleClick(virtualViewId);
+                return true;
+            }
+            return false;
+        }
+
+        private String getTitleText(int index) {
+            return index < mTitles.length ? mTitles[index] : "";
+        }
+    }
+}
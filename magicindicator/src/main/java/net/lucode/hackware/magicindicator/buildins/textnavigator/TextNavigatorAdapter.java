@@ -0,0 +1,42 @@
+package net.lucode.hackware.magicindicator.buildins.textnavigator;
+
+import android.content.Context;
+import android.database.DataSetObservable;
+import android.database.DataSetObserver;
+
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.abs.IPagerIndicator;
+
+/**
+ * TextNavigator适配器，只提供title文本和指示器
+ */
+public abstract class TextNavigatorAdapter {
+
+    private final DataSetObservable mDataSetObservable = new DataSetObservable();
+
+    public abstract int getCount();
+
+    public abstract CharSequence getTitle(int index);
+
+    /**
+     * 指示器通常是一个View，TextNavigator会负责它的测量、布局和绘制
+     *
+     * @return 可以为null
+     */
+    public abstract IPagerIndicator getIndicator(Context context);
+
+    public final void registerDataSetObserver(DataSetObserver observer) {
+        mDataSetObservable.registerObserver(observer);
+    }
+
+    public final void unregisterDataSetObserver(DataSetObserver observer) {
+        mDataSetObservable.unregisterObserver(observer);
+    }
+
+    public final void notifyDataSetChanged() {
+        mDataSetObservable.notifyChanged();
+    }
+
+    public final void notifyDataSetInvalidated() {
+        mDataSetObservable.notifyInvalidated();
+    }
+}
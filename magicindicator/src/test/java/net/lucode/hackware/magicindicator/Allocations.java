@@ -0,0 +1,49 @@
+package net.lucode.hackware.magicindicator;
+
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 统计当前线程在一段代码中分配的堆内存，JVM不支持时跳过测试
+ */
+public final class Allocations {
+    private static final int WARM_UP_ROUNDS = 5;
+    private static final int ATTEMPTS = 3;
+
+    private Allocations() {
+    }
+
+    /**
+     * 先执行若干次预热，再统计执行rounds次action分配的字节数，已扣除统计本身的开销
+     * 类加载、JIT等偶发的分配会计入当前线程，因此重复统计几次取最小值
+     */
+    public static long measure(Runnable action, int rounds) {
+        com.sun.management.ThreadMXBean threadMXBean = threadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            action.run();
+        }
+        long result = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < ATTEMPTS && result > 0; attempt++) {
+            long overhead = threadMXBean.getThreadAllocatedBytes(threadId);
+            overhead = threadMXBean.getThreadAllocatedBytes(threadId) - overhead;
+            long start = threadMXBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < rounds; i++) {
+                action.run();
+            }
+            long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - start - overhead;
+            result = Math.min(result, Math.max(0, allocated));
+        }
+        return result;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        Assume.assumeTrue(sunThreadMXBean.isThreadAllocatedMemorySupported());
+        sunThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+        return sunThreadMXBean;
+    }
+}
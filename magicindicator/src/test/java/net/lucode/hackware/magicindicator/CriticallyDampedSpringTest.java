@@ -0,0 +1,111 @@
+package net.lucode.hackware.magicindicator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CriticallyDampedSpringTest {
+    private static final float FRAME = 1.0f / 60;
+
+    private CriticallyDampedSpring mSpring;
+
+    @Before
+    public void setUp() {
+        mSpring = new CriticallyDampedSpring();
+    }
+
+    @Test
+    public void resultDoesNotDependOnFrameRate() {
+        CriticallyDampedSpring slow = new CriticallyDampedSpring();
+        slow.setTarget(3.0f);
+        slow.setState(0.0f, 5.0f);
+        mSpring.setTarget(3.0f);
+        mSpring.setState(0.0f, 5.0f);
+        for (int i = 0; i < 12; i++) {
+            mSpring.step(FRAME);
+        }
+        slow.step(12 * FRAME);
+        assertEquals(slow.getPosition(), mSpring.getPosition(), 1e-4f);
+        assertEquals(slow.getVelocity(), mSpring.getVelocity(), 1e-3f);
+    }
+
+    @Test
+    public void doesNotOvershootFromRest() {
+        mSpring.setTarget(1.0f);
+        mSpring.setState(0.0f, 0.0f);
+        float lastPosition = 0.0f;
+        for (int i = 0; i < 120; i++) {
+            mSpring.step(FRAME);
+            assertTrue(mSpring.getPosition() >= lastPosition);
+            assertTrue(mSpring.getPosition() <= 1.0f);
+            lastPosition = mSpring.getPosition();
+        }
+    }
+
+    @Test
+    public void overshootsOnceWithCarriedVelocity() {
+        // 连续切换时保留的速度朝向新目标且大于ω * |d0|，会越过目标一次
+        float omega = (float) Math.sqrt(mSpring.getStiffness());
+        mSpring.setTarget(1.0f);
+        mSpring.setState(0.0f, 2.0f * omega);
+        float maxPosition = 0.0f;
+        int signChanges = 0;
+        float lastOffset = mSpring.getPosition() - mSpring.getTarget();
+        for (int i = 0; i < 120; i++) {
+            mSpring.step(FRAME);
+            float offset = mSpring.getPosition() - mSpring.getTarget();
+            if (offset * lastOffset < 0.0f) {
+                signChanges++;
+            }
+            if (offset != 0.0f) {
+                lastOffset = offset;
+            }
+            maxPosition = Math.max(maxPosition, mSpring.getPosition());
+        }
+        assertTrue(maxPosition > 1.0f);
+        assertEquals(1, signChanges);
+        assertTrue(mSpring.isAtRest());
+    }
+
+    @Test
+    public void settlesWithinDocumentedTime() {
+        // 默认刚度约0.17秒收敛到1%以内
+        mSpring.setTarget(1.0f);
+        mSpring.setState(0.0f, 0.0f);
+        mSpring.step(0.16f);
+        assertTrue(Math.abs(mSpring.getPosition() - 1.0f) > 0.01f);
+        mSpring.step(0.02f);
+        assertTrue(Math.abs(mSpring.getPosition() - 1.0f) < 0.01f);
+    }
+
+    @Test
+    public void restsOnlyBelowBothThresholds() {
+        mSpring.setTarget(1.0f);
+        mSpring.setState(1.0f, 1.0f);
+        assertFalse(mSpring.isAtRest());
+        mSpring.setState(0.9f, 0.0f);
+        assertFalse(mSpring.isAtRest());
+        mSpring.snapToTarget();
+        assertTrue(mSpring.isAtRest());
+        assertEquals(1.0f, mSpring.getPosition(), 0.0f);
+        assertEquals(0.0f, mSpring.getVelocity(), 0.0f);
+    }
+
+    @Test
+    public void ignoresNonPositiveStep() {
+        mSpring.setTarget(1.0f);
+        mSpring.setState(0.0f, 3.0f);
+        mSpring.step(0.0f);
+        mSpring.step(-FRAME);
+        assertEquals(0.0f, mSpring.getPosition(), 0.0f);
+        assertEquals(3.0f, mSpring.getVelocity(), 0.0f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveStiffness() {
+        mSpring.setStiffness(0.0f);
+    }
+}
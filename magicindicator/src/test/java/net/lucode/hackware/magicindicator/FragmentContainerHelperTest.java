@@ -0,0 +1,78 @@
+package net.lucode.hackware.magicindicator;
+
+import net.lucode.hackware.magicindicator.buildins.commonnavigator.model.PositionData;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class FragmentContainerHelperTest {
+    private static final int TOTAL_COUNT = 5;
+    private static final int TITLE_WIDTH = 100;
+
+    private List<PositionData> mPositionDataList;
+    private PositionData mOut;
+
+    @Before
+    public void setUp() {
+        mPositionDataList = new ArrayList<PositionData>();
+        for (int i = 0; i < TOTAL_COUNT; i++) {
+            PositionData data = new PositionData();
+            data.mLeft = i * TITLE_WIDTH;
+            data.mTop = 0;
+            data.mRight = data.mLeft + TITLE_WIDTH;
+            data.mBottom = 50;
+            data.mContentLeft = data.mLeft + 20;
+            data.mContentTop = 10;
+            data.mContentRight = data.mRight - 20;
+            data.mContentBottom = 40;
+            mPositionDataList.add(data);
+        }
+        mOut = new PositionData();
+    }
+
+    @Test
+    public void extrapolatesBeforeFirstTitle() {
+        PositionData data = FragmentContainerHelper.getImitativePositionData(mPositionDataList, -2, mOut);
+        assertSame(mOut, data);
+        assertEquals(-2 * TITLE_WIDTH, data.mLeft);
+        assertEquals(-TITLE_WIDTH, data.mRight);
+        assertEquals(-2 * TITLE_WIDTH + 20, data.mContentLeft);
+        assertEquals(10, data.mContentTop);
+    }
+
+    @Test
+    public void extrapolatesAfterLastTitle() {
+        PositionData data = FragmentContainerHelper.getImitativePositionData(mPositionDataList, TOTAL_COUNT, mOut);
+        assertEquals(TOTAL_COUNT * TITLE_WIDTH, data.mLeft);
+        assertEquals((TOTAL_COUNT + 1) * TITLE_WIDTH - 20, data.mContentRight);
+        assertEquals(50, data.mBottom);
+    }
+
+    @Test
+    public void copiesTitleInRange() {
+        PositionData data = FragmentContainerHelper.getImitativePositionData(mPositionDataList, 2, mOut);
+        assertSame(mOut, data);
+        assertEquals(mPositionDataList.get(2).mLeft, data.mLeft);
+        assertEquals(mPositionDataList.get(2).mContentRight, data.mContentRight);
+        assertSame(mPositionDataList.get(2), FragmentContainerHelper.getImitativePositionData(mPositionDataList, 2));
+    }
+
+    @Test
+    public void overscrollDoesNotAllocate() {
+        long allocated = Allocations.measure(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = -3; i < TOTAL_COUNT + 3; i++) {
+                    FragmentContainerHelper.getImitativePositionData(mPositionDataList, i, mOut);
+                }
+            }
+        }, 1000);
+        assertEquals(0, allocated);
+    }
+}
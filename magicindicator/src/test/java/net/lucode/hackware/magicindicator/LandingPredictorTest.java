@@ -0,0 +1,139 @@
+package net.lucode.hackware.magicindicator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LandingPredictorTest {
+    private static final int TOTAL_COUNT = 10;
+    private static final long FRAME_MILLIS = 16;
+
+    private LandingPredictor mLandingPredictor;
+    private List<Integer> mReported;
+    private long mTime;
+
+    @Before
+    public void setUp() {
+        mLandingPredictor = new LandingPredictor();
+        mLandingPredictor.setTotalCount(TOTAL_COUNT);
+        mReported = new ArrayList<Integer>();
+        mLandingPredictor.setOnLandingPredictedListener(new LandingPredictor.OnLandingPredictedListener() {
+            @Override
+            public void onLandingPredicted(int index, float confidence) {
+                mReported.add(index);
+            }
+        });
+        mLandingPredictor.onPageSelected(3);
+        mTime = 1000;
+    }
+
+    @Test
+    public void flingForwardPredictsNextPage() {
+        mLandingPredictor.onPageScrollStateChanged(ScrollState.SCROLL_STATE_DRAGGING);
+        scroll(3.0f, 3.3f, 6);
+        assertEquals(4, mLandingPredictor.getPredictedIndex());
+        assertEquals(1, mReported.size());
+        assertEquals(4, (int) mReported.get(0));
+    }
+
+    @Test
+    public void flingBackwardPredictsPreviousPage() {
+        mLandingPredictor.onPageScrollStateChanged(ScrollState.SCROLL_STATE_DRAGGING);
+        scroll(3.0f, 2.7f, 6);
+        assertEquals(2, mLandingPredictor.getPredictedIndex());
+        assertEquals(1, mReported.size());
+        assertEquals(2, (int) mReported.get(0));
+    }
+
+    @Test
+    public void reverseFlingReturnsToDragStartPage() {
+        mLandingPredictor.onPageScrollStateChanged(ScrollState.SCROLL_STATE_DRAGGING);
+        scroll(3.0f, 3.3f, 30);
+        scroll(3.3f, 3.1f, 4);
+        assertEquals(3, mLandingPredictor.getPredictedIndex());
+        assertTrue(mReported.isEmpty());
+    }
+
+    @Test
+    public void settlingOntoPageDoesNotPredictBeyondIt() {
+        // 松手后滚动到下一页，偏移为0的最后一次回调不能按下一页的下一页预测
+        mLandingPredictor.onPageScrollStateChanged(ScrollState.SCROLL_STATE_DRAGGING);
+        scroll(3.0f, 3.3f, 6);
+        mLandingPredictor.onPageSelected(4);
+        mLandingPredictor.onPageScrollStateChanged(ScrollState.SCROLL_STATE_SETTLING);
+        scroll(3.3f, 3.95f, 5);
+        scroll(3.95f, 4.0f, 1);
+        assertEquals(4, mLandingPredictor.getPredictedIndex());
+        assertEquals(1, mReported.size());
+        assertEquals(4, (int) mReported.get(0));
+    }
+
+    @Test
+    public void clampsToLastPage() {
+        mLandingPredictor.onPageSelected(TOTAL_COUNT - 1);
+        mLandingPredictor.onPageScrollStateChanged(ScrollState.SCROLL_STATE_DRAGGING);
+        scroll(TOTAL_COUNT - 1, TOTAL_COUNT - 0.7f, 6);
+        assertEquals(TOTAL_COUNT - 1, mLandingPredictor.getPredictedIndex());
+        assertTrue(mReported.isEmpty());
+    }
+
+    @Test
+    public void clampsToFirstPage() {
+        mLandingPredictor.onPageSelected(0);
+        mLandingPredictor.onPageScrollStateChanged(ScrollState.SCROLL_STATE_DRAGGING);
+        scroll(0.0f, -0.3f, 6);
+        assertEquals(0, mLandingPredictor.getPredictedIndex());
+        assertTrue(mReported.isEmpty());
+    }
+
+    @Test
+    public void slowDragPredictsByProjection() {
+        mLandingPredictor.onPageScrollStateChanged(ScrollState.SCROLL_STATE_DRAGGING);
+        scroll(3.0f, 3.2f, 30);
+        assertEquals(3, mLandingPredictor.getPredictedIndex());
+        scroll(3.2f, 3.7f, 60);
+        assertEquals(4, mLandingPredictor.getPredictedIndex());
+        assertTrue(Math.abs(mLandingPredictor.getVelocity()) < 1.0f);
+    }
+
+    @Test
+    public void programmaticScrollIsNotPredicted() {
+        mLandingPredictor.onPageSelected(6);
+        mLandingPredictor.onPageScrollStateChanged(ScrollState.SCROLL_STATE_SETTLING);
+        scroll(3.0f, 6.0f, 20);
+        assertEquals(-1, mLandingPredictor.getPredictedIndex());
+        assertTrue(mReported.isEmpty());
+    }
+
+    @Test
+    public void resetsWhenIdle() {
+        mLandingPredictor.onPageScrollStateChanged(ScrollState.SCROLL_STATE_DRAGGING);
+        scroll(3.0f, 3.3f, 6);
+        mLandingPredictor.onPageScrollStateChanged(ScrollState.SCROLL_STATE_IDLE);
+        assertEquals(-1, mLandingPredictor.getPredictedIndex());
+        assertEquals(0.0f, mLandingPredictor.getVelocity(), 0.0f);
+    }
+
+    /**
+     * 以固定帧间隔从from匀速滚动到to，不包含from
+     */
+    private void scroll(float from, float to, int frames) {
+        if (mTime == 1000) {
+            feed(from);
+        }
+        for (int i = 1; i <= frames; i++) {
+            feed(from + (to - from) * i / frames);
+        }
+    }
+
+    private void feed(float positionOffsetSum) {
+        int position = (int) Math.floor(positionOffsetSum);
+        mLandingPredictor.onPageScrolled(position, positionOffsetSum - position, mTime);
+        mTime += FRAME_MILLIS;
+    }
+}
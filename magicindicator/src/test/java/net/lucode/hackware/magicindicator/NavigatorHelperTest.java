@@ -0,0 +1,124 @@
+package net.lucode.hackware.magicindicator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class NavigatorHelperTest {
+    private static final int TOTAL_COUNT = 50;
+
+    private NavigatorHelper mNavigatorHelper;
+    private RecordingListener mListener;
+
+    @Before
+    public void setUp() {
+        mNavigatorHelper = new NavigatorHelper();
+        mListener = new RecordingListener();
+        mNavigatorHelper.setNavigatorScrollListener(mListener);
+        mNavigatorHelper.setTotalCount(TOTAL_COUNT);
+        mNavigatorHelper.onPageScrolled(0, 0.0f, 0);
+    }
+
+    @Test
+    public void dragToNextPageUpdatesStates() {
+        swipe(0, 1);
+        assertEquals(1, mListener.mLastSelected);
+        assertEquals(0, mListener.mLastDeselected);
+        assertEquals(1.0f, mNavigatorHelper.getLeavePercent(0), 0.0f);
+        assertEquals(0.0f, mNavigatorHelper.getLeavePercent(1), 0.0f);
+    }
+
+    @Test
+    public void restoreStateAfterResetWhileDragging() {
+        mNavigatorHelper.onPageScrollStateChanged(ScrollState.SCROLL_STATE_DRAGGING);
+        mNavigatorHelper.onPageScrolled(0, 0.25f, 0);
+        mNavigatorHelper.setTotalCount(TOTAL_COUNT + 1);
+        mListener.mLastSelected = -1;
+        mNavigatorHelper.restoreState();
+        assertEquals(0, mListener.mLastSelected);
+        assertEquals(0.25f, mNavigatorHelper.getLeavePercent(0), 0.0f);
+        assertEquals(0.75f, mNavigatorHelper.getLeavePercent(1), 0.0f);
+        assertEquals(1.0f, mNavigatorHelper.getLeavePercent(2), 0.0f);
+        assertEquals(1.0f, mNavigatorHelper.getLeavePercent(TOTAL_COUNT), 0.0f);
+    }
+
+    @Test
+    public void setTotalCountReusesStorage() {
+        long allocated = Allocations.measure(new Runnable() {
+            @Override
+            public void run() {
+                mNavigatorHelper.setTotalCount(TOTAL_COUNT);
+                mNavigatorHelper.setTotalCount(TOTAL_COUNT / 2);
+            }
+        }, 1000);
+        assertEquals(0, allocated);
+        assertEquals(TOTAL_COUNT / 2, mNavigatorHelper.getTotalCount());
+    }
+
+    @Test
+    public void scrollDispatchDoesNotAllocate() {
+        long allocated = Allocations.measure(new Runnable() {
+            @Override
+            public void run() {
+                swipe(0, 1);
+                swipe(1, 0);
+            }
+        }, 1000);
+        assertEquals(0, allocated);
+    }
+
+    @Test
+    public void skimOverDispatchDoesNotAllocate() {
+        mNavigatorHelper.setSkimOver(true);
+        long allocated = Allocations.measure(new Runnable() {
+            @Override
+            public void run() {
+                swipe(0, TOTAL_COUNT - 1);
+                swipe(TOTAL_COUNT - 1, 0);
+            }
+        }, 100);
+        assertEquals(0, allocated);
+    }
+
+    /**
+     * 模拟ViewPager从from滑动到to的回调顺序
+     */
+    private void swipe(int from, int to) {
+        mNavigatorHelper.onPageScrollStateChanged(ScrollState.SCROLL_STATE_DRAGGING);
+        mNavigatorHelper.onPageSelected(to);
+        mNavigatorHelper.onPageScrollStateChanged(ScrollState.SCROLL_STATE_SETTLING);
+        int steps = Math.abs(to - from) * 8;
+        for (int i = 1; i < steps; i++) {
+            float positionOffsetSum = from + (to - from) * i / (float) steps;
+            int position = (int) positionOffsetSum;
+            mNavigatorHelper.onPageScrolled(position, positionOffsetSum - position, 0);
+        }
+        mNavigatorHelper.onPageScrolled(to, 0.0f, 0);
+        mNavigatorHelper.onPageScrollStateChanged(ScrollState.SCROLL_STATE_IDLE);
+        mNavigatorHelper.onPageScrolled(to, 0.0f, 0);
+    }
+
+    private static class RecordingListener implements NavigatorHelper.OnNavigatorScrollListener {
+        int mLastSelected = -1;
+        int mLastDeselected = -1;
+
+        @Override
+        public void onEnter(int index, int totalCount, float enterPercent, boolean leftToRight) {
+        }
+
+        @Override
+        public void onLeave(int index, int totalCount, float leavePercent, boolean leftToRight) {
+        }
+
+        @Override
+        public void onSelected(int index, int totalCount) {
+            mLastSelected = index;
+        }
+
+        @Override
+        public void onDeselected(int index, int totalCount) {
+            mLastDeselected = index;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package net.lucode.hackware.magicindicator.buildins;
+
+import android.view.animation.Interpolator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JVM上无法使用android.view.animation中的实现，以下插值器与对应的内置插值器公式一致
+ */
+public class SampledInterpolatorTest {
+    private static final int STEPS = 1000000;
+    private static final float ROUNDING = 1e-6f;   // float运算本身的误差
+
+    @Test
+    public void errorWithinSecondDerivativeBound() {
+        // 误差上限为k / 524288，k为二阶导数绝对值的最大值
+        assertMaxError(new Accelerate(1.0f), 2.0f / 524288);
+        assertMaxError(new Accelerate(2.0f), 12.0f / 524288);
+        assertMaxError(new Decelerate(1.0f), 2.0f / 524288);
+        assertMaxError(new Decelerate(2.0f), 12.0f / 524288);
+        assertMaxError(new AccelerateDecelerate(), (float) (Math.PI * Math.PI / 2) / 524288);
+        assertMaxError(new Overshoot(2.0f), 14.0f / 524288);
+    }
+
+    @Test
+    public void documentedErrors() {
+        assertTrue(maxError(new Accelerate(1.0f)) < 4e-6f + ROUNDING);
+        assertTrue(maxError(new AccelerateDecelerate()) < 1e-5f);
+        assertTrue(maxError(new Accelerate(2.0f)) > 2e-5f);
+        assertTrue(maxError(new Decelerate(2.0f)) < 2.7e-5f);
+        assertTrue(maxError(new Overshoot(2.0f)) < 2.7e-5f + ROUNDING);
+    }
+
+    @Test
+    public void bounceHasLargeErrorAtKinks() {
+        // 一阶导数不连续，因此SampledInterpolator.of()不对BounceInterpolator采样
+        assertTrue(maxError(new Bounce()) > 1e-3f);
+    }
+
+    @Test
+    public void exactAtSamplePoints() {
+        Interpolator source = new Accelerate(2.0f);
+        SampledInterpolator sampled = new SampledInterpolator(source, 16);
+        for (int i = 0; i <= 16; i++) {
+            float input = i / 16.0f;
+            assertEquals(source.getInterpolation(input), sampled.getInterpolation(input), 0.0f);
+        }
+    }
+
+    @Test
+    public void outOfRangeUsesSource() {
+        Interpolator source = new Overshoot(2.0f);
+        SampledInterpolator sampled = new SampledInterpolator(source);
+        assertEquals(source.getInterpolation(-0.5f), sampled.getInterpolation(-0.5f), 0.0f);
+        assertEquals(source.getInterpolation(1.5f), sampled.getInterpolation(1.5f), 0.0f);
+    }
+
+    @Test
+    public void keepsSource() {
+        Interpolator source = new Decelerate(2.0f);
+        SampledInterpolator sampled = new SampledInterpolator(source);
+        assertSame(source, sampled.getSource());
+        assertSame(sampled, SampledInterpolator.of(sampled));
+        assertNull(SampledInterpolator.of(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNullSource() {
+        new SampledInterpolator(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptySampleCount() {
+        new SampledInterpolator(new Accelerate(1.0f), 0);
+    }
+
+    private static void assertMaxError(Interpolator source, float bound) {
+        float error = maxError(source);
+        assertTrue(source + " error " + error + " > " + bound, error <= bound + ROUNDING);
+    }
+
+    private static float maxError(Interpolator source) {
+        SampledInterpolator sampled = new SampledInterpolator(source);
+        float maxError = 0.0f;
+        for (int i = 0; i <= STEPS; i++) {
+            float input = i / (float) STEPS;
+            maxError = Math.max(maxError, Math.abs(sampled.getInterpolation(input) - source.getInterpolation(input)));
+        }
+        return maxError;
+    }
+
+    private static class Accelerate implements Interpolator {
+        private final float mFactor;
+
+        Accelerate(float factor) {
+            mFactor = factor;
+        }
+
+        @Override
+        public float getInterpolation(float input) {
+            return mFactor == 1.0f ? input * input : (float) Math.pow(input, 2 * mFactor);
+        }
+    }
+
+    private static class Decelerate implements Interpolator {
+        private final float mFactor;
+
+        Decelerate(float factor) {
+            mFactor = factor;
+        }
+
+        @Override
+        public float getInterpolation(float input) {
+            return mFactor == 1.0f ? 1.0f - (1.0f - input) * (1.0f - input) : (float) (1.0f - Math.pow(1.0f - input, 2 * mFactor));
+        }
+    }
+
+    private static class AccelerateDecelerate implements Interpolator {
+        @Override
+        public float getInterpolation(float input) {
+            return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+        }
+    }
+
+    private static class Overshoot implements Interpolator {
+        private final float mTension;
+
+        Overshoot(float tension) {
+            mTension = tension;
+        }
+
+        @Override
+        public float getInterpolation(float t) {
+            t -= 1.0f;
+            return t * t * ((mTension + 1) * t + mTension) + 1.0f;
+        }
+    }
+
+    private static class Bounce implements Interpolator {
+        private static float bounce(float t) {
+            return t * t * 8.0f;
+        }
+
+        @Override
+        public float getInterpolation(float t) {
+            t *= 1.1226f;
+            if (t < 0.3535f) {
+                return bounce(t);
+            } else if (t < 0.7408f) {
+                return bounce(t - 0.54719f) + 0.7f;
+            } else if (t < 0.9644f) {
+                return bounce(t - 0.8526f) + 0.9f;
+            } else {
+                return bounce(t - 1.0435f) + 0.95f;
+            }
+        }
+    }
+}